@@ -0,0 +1,145 @@
+package com.samtech.qa.factory;
+
+import com.microsoft.playwright.BrowserContext;
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AuthStateCache — Caches logged-in browser state so scenarios can skip the UI login.
+ *
+ * Logging in through the UI (type username, type password, click, wait for dashboard)
+ * costs several seconds per scenario. Most scenarios don't test the login itself —
+ * they just need a logged-in session. This cache stores a snapshot of the browser's
+ * storage state (cookies + localStorage) after a successful login, and new contexts
+ * are created from that snapshot instead of logging in again.
+ *
+ * How it works:
+ *   1. First scenario for a user logs in through the UI → save() writes the snapshot
+ *   2. Later scenarios for the same user → lookup() returns the snapshot file,
+ *      DriverFactory creates the context from it, and the UI login is skipped
+ *   3. Snapshots expire after auth.state.ttl.minutes — then the next scenario
+ *      logs in through the UI again and refreshes the snapshot
+ *
+ * Snapshots are also written to disk (test-output/auth/), so a later run can re-use
+ * a snapshot that hasn't expired yet.
+ *
+ * Config (config file or CLI):
+ *   auth.state.cache.enabled=true  → turn the cache on (default: false)
+ *   auth.state.ttl.minutes=30      → how long a snapshot stays valid
+ *
+ * Keys are usually the username (or role) from the "Login" test data sheet.
+ *
+ * Thread Safety:
+ *   Snapshots are tracked in a ConcurrentHashMap and written via a temp file + atomic
+ *   move, so a parallel thread never reads a half-written snapshot.
+ */
+public class AuthStateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthStateCache.class);
+
+    // ── Singleton — one cache shared by all worker threads ──
+    private static final AuthStateCache cache = new AuthStateCache();
+
+    // Folder holding one {key}.json storage-state snapshot per user/role
+    private static final Path SNAPSHOT_DIR = Paths.get("test-output/auth");
+
+    // Snapshot creation time per key (in-memory view of what's on disk)
+    private final Map<String, Instant> savedAt = new ConcurrentHashMap<>();
+
+    private AuthStateCache() {}
+
+    /**
+     * Returns the single shared AuthStateCache instance.
+     */
+    public static AuthStateCache getInstance() {
+        return cache;
+    }
+
+    /**
+     * Returns true if the cache is switched on via "auth.state.cache.enabled".
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("auth.state.cache.enabled"));
+    }
+
+    /**
+     * Returns the snapshot file for a user/role if one exists and hasn't expired.
+     *
+     * @param key — The user or role the snapshot belongs to (e.g. "Admin")
+     * @return    — Path to the storage-state JSON, or empty if there is no valid snapshot
+     */
+    public Optional<Path> lookup(String key) {
+        Path snapshot = snapshotPath(key);
+        if (!Files.exists(snapshot)) {
+            return Optional.empty();
+        }
+
+        // Snapshots from a previous run are dated by their file modification time
+        Instant created = savedAt.computeIfAbsent(key, k -> {
+            try {
+                return Files.getLastModifiedTime(snapshot).toInstant();
+            } catch (IOException e) {
+                return Instant.EPOCH;
+            }
+        });
+
+        Duration ttl = Duration.ofMinutes(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("auth.state.ttl.minutes")));
+        if (created.plus(ttl).isBefore(Instant.now())) {
+            logger.debug("Auth snapshot for \"{}\" has expired — a UI login is needed.", key);
+            invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Saves the current storage state of a logged-in context as the snapshot for a user/role.
+     *
+     * @param key     — The user or role the snapshot belongs to
+     * @param context — A context that has just completed a successful login
+     */
+    public void save(String key, BrowserContext context) {
+        Path snapshot = snapshotPath(key);
+        try {
+            Files.createDirectories(SNAPSHOT_DIR);
+            // Write to a temp file first, then move — readers never see a partial file
+            Path temp = Files.createTempFile(SNAPSHOT_DIR, "auth", ".tmp");
+            context.storageState(new BrowserContext.StorageStateOptions().setPath(temp));
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            savedAt.put(key, Instant.now());
+            logger.debug("Auth snapshot saved for \"{}\".", key);
+        } catch (IOException e) {
+            logger.warn("Could not save auth snapshot for \"{}\": {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the snapshot for a user/role — e.g. when a restored session turned out
+     * to be logged out on the server side.
+     */
+    public void invalidate(String key) {
+        savedAt.remove(key);
+        try {
+            Files.deleteIfExists(snapshotPath(key));
+        } catch (IOException e) {
+            logger.debug("Could not delete auth snapshot for \"{}\": {}", key, e.getMessage());
+        }
+    }
+
+    // Key is sanitised so any username/role produces a valid file name
+    private Path snapshotPath(String key) {
+        return SNAPSHOT_DIR.resolve(key.replaceAll("\\W+", "_") + ".json");
+    }
+}
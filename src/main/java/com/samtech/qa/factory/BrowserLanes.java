@@ -0,0 +1,148 @@
+package com.samtech.qa.factory;
+
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BrowserLanes — Runs one suite against several browser engines in the same JVM.
+ *
+ * Normally the "browser" property picks ONE engine per run, so a chromium/firefox/webkit
+ * matrix means three Maven runs — each paying JVM startup, glue scanning and Excel
+ * loading again. In matrix mode the runner fans every scenario out once per engine,
+ * and each engine gets its own "lane":
+ *   - its own worker threads (a fixed-size executor per engine)
+ *   - its own concurrency limit (the executor's size)
+ *   - its own browsers (pooled browsers are per worker thread, so lanes never share)
+ *
+ * Config (config file or CLI):
+ *   browser.matrix=chromium,firefox,webkit   → engines to fan out to (empty = matrix off)
+ *   browser.matrix.concurrency=1             → default scenarios in flight per lane
+ *   browser.matrix.concurrency.firefox=2     → per-engine override
+ *
+ * The TestNG data-provider threads only dispatch scenarios into lanes and wait for them,
+ * so dataproviderthreadcount should be at least the sum of all lane concurrency limits.
+ *
+ * Which engine a thread is running for is kept in a ThreadLocal — DriverFactory reads it
+ * through currentEngine() instead of the "browser" property.
+ */
+public class BrowserLanes {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserLanes.class);
+
+    // ── Engine the current lane thread is running for (null outside matrix mode) ──
+    private static final ThreadLocal<String> currentEngine = new ThreadLocal<>();
+
+    // ── One executor per engine — created on first use ──
+    private static final Map<String, ExecutorService> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns true if a browser matrix is configured via "browser.matrix".
+     */
+    public static boolean isMatrixEnabled() {
+        return !engines().isEmpty();
+    }
+
+    /**
+     * Returns the engines listed in "browser.matrix", in the configured order.
+     */
+    public static List<String> engines() {
+        List<String> engines = new ArrayList<>();
+        String matrix = ConfigLoader.getInstance().getOptionalProp("browser.matrix");
+        if (matrix == null) return engines;
+        for (String engine : matrix.split(",")) {
+            if (!engine.isBlank()) engines.add(engine.trim().toLowerCase());
+        }
+        return engines;
+    }
+
+    /**
+     * Returns the max number of scenarios running at once in an engine's lane.
+     * A per-engine key (browser.matrix.concurrency.firefox) wins over the shared default.
+     */
+    public static int concurrency(String engine) {
+        ConfigLoader config = ConfigLoader.getInstance();
+        String value = config.getOptionalProp("browser.matrix.concurrency." + engine);
+        if (value == null) value = config.getOptionalProp("browser.matrix.concurrency");
+        return Math.max(1, Integer.parseInt(value.trim()));
+    }
+
+    /**
+     * Returns the sum of all lane concurrency limits — the number of dispatch threads
+     * needed to keep every lane busy.
+     */
+    public static int totalConcurrency() {
+        int total = 0;
+        for (String engine : engines()) total += concurrency(engine);
+        return total;
+    }
+
+    /**
+     * Returns the engine the current thread is running for, or null outside a lane.
+     */
+    public static String currentEngine() {
+        return currentEngine.get();
+    }
+
+    /**
+     * Runs one scenario in an engine's lane and waits for it to finish.
+     *
+     * The scenario runs on a lane worker thread, so any exception it throws
+     * (assertion failure, SkipException, ...) is re-thrown here on the calling
+     * thread — TestNG sees the same result as if it had run the scenario itself.
+     *
+     * @param engine   — chromium / firefox / webkit
+     * @param scenario — The scenario execution to run
+     */
+    public static void runInLane(String engine, Runnable scenario) {
+        Future<?> result = laneFor(engine).submit(() -> {
+            currentEngine.set(engine);
+            try {
+                scenario.run();
+            } finally {
+                currentEngine.remove();
+            }
+        });
+
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for " + engine + " lane", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static ExecutorService laneFor(String engine) {
+        return lanes.computeIfAbsent(engine, e -> {
+            int size = concurrency(e);
+            logger.info("Browser lane \"{}\" started with {} worker(s).", e, size);
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(size, runnable -> {
+                Thread thread = new Thread(runnable, "lane-" + e + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+    }
+
+    /**
+     * Stops all lane executors. Called once at suite end, when every lane is idle.
+     */
+    static void shutdown() {
+        for (ExecutorService lane : lanes.values()) {
+            lane.shutdown();
+        }
+        lanes.clear();
+    }
+}
@@ -0,0 +1,236 @@
+package com.samtech.qa.factory;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BrowserPool — Keeps one long-lived Playwright + Browser per worker thread.
+ *
+ * Without pooling, DriverFactory starts a new Playwright engine and launches a
+ * whole browser process for every scenario, then tears both down again in
+ * ApplicationHooks.quitBrowser. With pooling enabled, each worker thread launches
+ * its browser ONCE and every scenario on that thread only gets a fresh
+ * BrowserContext + Page — the cheap part of the session.
+ *
+ * How it is switched on (config or CLI):
+ *   browser.pool.enabled=true   → turn pooling on (default: false)
+ *   browser.pool.size=4         → max number of pooled browsers (0 = one per worker, no limit)
+ *
+ * If the pool is full, the calling thread simply gets null back and DriverFactory
+ * falls back to the normal "launch per scenario" behaviour — tests never block
+ * waiting for a pool slot.
+ *
+ * Health checks:
+ *   Before a pooled browser is handed out it is checked:
+ *     - Browser still connected?   → if not, it is disposed and relaunched
+ *     - Leftover contexts?         → contexts leaked by a crashed scenario are closed
+ *
+ * Thread Safety:
+ *   Playwright objects are NOT thread-safe, so a pooled browser is only ever used
+ *   by the thread that created it. The pool map is keyed by worker thread + browser
+ *   name, and ConcurrentHashMap makes registering/removing entries safe across threads.
+ *
+ * Shutdown:
+ *   shutdown() is called once from the runner's @AfterSuite — it closes every pooled
+ *   Browser and Playwright engine after all worker threads have finished.
+ */
+public class BrowserPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+
+    // ── Singleton — one pool for the whole test run (same style as ConfigLoader) ──
+    private static final BrowserPool pool = new BrowserPool();
+
+    // ── Pooled browsers, keyed by "{threadId}:{browserName}" ──
+    private final Map<String, PooledBrowser> browsers = new ConcurrentHashMap<>();
+
+    // Number of pool slots currently in use (compared against browser.pool.size)
+    private final AtomicInteger usedSlots = new AtomicInteger();
+
+    private BrowserPool() {}
+
+    /**
+     * Returns the single shared BrowserPool instance.
+     */
+    public static BrowserPool getInstance() {
+        return pool;
+    }
+
+    /**
+     * Returns true if pooled mode is switched on via "browser.pool.enabled".
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("browser.pool.enabled"));
+    }
+
+    /**
+     * A Playwright engine + launched Browser owned by one worker thread.
+     * Kept alive across scenarios until the pool is shut down.
+     */
+    public static class PooledBrowser {
+        private final Playwright playwright;
+        private final Browser browser;
+        private int scenariosServed;
+
+        // Context kept alive across scenarios in reuse mode (see ContextReuse), and
+        // how long its last reset took — added to the next scenario's setup time
+        private BrowserContext reusableContext;
+        private long lastResetMs;
+
+        PooledBrowser(Playwright playwright, Browser browser) {
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        public Playwright getPlaywright() {
+            return playwright;
+        }
+
+        public Browser getBrowser() {
+            return browser;
+        }
+
+        public int getScenariosServed() {
+            return scenariosServed;
+        }
+
+        BrowserContext getReusableContext() {
+            return reusableContext;
+        }
+
+        void setReusableContext(BrowserContext reusableContext) {
+            this.reusableContext = reusableContext;
+        }
+
+        long getLastResetMs() {
+            return lastResetMs;
+        }
+
+        void setLastResetMs(long lastResetMs) {
+            this.lastResetMs = lastResetMs;
+        }
+    }
+
+    /**
+     * Returns the current thread's pooled browser, launching it on first use.
+     *
+     * Steps performed:
+     *   1. Look up an existing pooled browser for this thread + browser name
+     *   2. Run health checks on it — dispose and relaunch if it is unhealthy
+     *   3. If there is none yet, claim a pool slot and launch a new one
+     *      (the slot is released again if the launch fails)
+     *
+     * @param browserName — chromium / firefox / webkit
+     * @param isHeadless  — headless flag used when a new browser must be launched
+     * @return            — the pooled browser, or null if the pool is full
+     */
+    public PooledBrowser acquire(String browserName, boolean isHeadless) {
+        String key = Thread.currentThread().getId() + ":" + browserName.trim().toLowerCase();
+
+        PooledBrowser pooled = browsers.get(key);
+        if (pooled != null && !isHealthy(pooled)) {
+            logger.warn("Pooled browser \"{}\" failed health check — relaunching.", key);
+            dispose(key, pooled);
+            pooled = null;
+        }
+
+        if (pooled == null) {
+            // ── Claim a slot — give up (fall back to unpooled) if the pool is full ──
+            int size = Integer.parseInt(ConfigLoader.getInstance().getOptionalProp("browser.pool.size"));
+            if (size > 0 && usedSlots.incrementAndGet() > size) {
+                usedSlots.decrementAndGet();
+                logger.debug("Browser pool is full ({} slots) — launching an unpooled browser.", size);
+                return null;
+            } else if (size <= 0) {
+                usedSlots.incrementAndGet();
+            }
+
+            // ── Launch — a failed launch gives its slot back and closes the driver process ──
+            Playwright playwright = null;
+            Browser browser;
+            try {
+                playwright = Playwright.create();
+                browser = DriverFactory.launchBrowser(playwright, browserName, isHeadless);
+            } catch (RuntimeException e) {
+                usedSlots.decrementAndGet();
+                if (playwright != null) playwright.close();
+                throw e;
+            }
+            pooled = new PooledBrowser(playwright, browser);
+            browsers.put(key, pooled);
+            logger.debug("Pooled browser \"{}\" launched for thread \"{}\".", browserName, Thread.currentThread().getName());
+        }
+
+        pooled.scenariosServed++;
+        return pooled;
+    }
+
+    /**
+     * Health check run every time a pooled browser is handed out.
+     *
+     * A browser is considered unhealthy if it has disconnected (crashed or was killed).
+     * Contexts left open by a previous scenario (e.g. one that failed before teardown)
+     * are closed here so they don't pile up in a long-lived browser — except the
+     * worker's re-usable context, which is meant to stay open (see ContextReuse).
+     */
+    private boolean isHealthy(PooledBrowser pooled) {
+        try {
+            if (!pooled.browser.isConnected()) {
+                return false;
+            }
+            List<BrowserContext> leftovers = new ArrayList<>(pooled.browser.contexts());
+            for (BrowserContext context : leftovers) {
+                if (context == pooled.reusableContext) continue;
+                logger.debug("Closing leftover browser context from a previous scenario.");
+                context.close();
+            }
+            return true;
+        } catch (Exception e) {
+            logger.debug("Pooled browser health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Closes one pooled browser and frees its slot.
+     */
+    private void dispose(String key, PooledBrowser pooled) {
+        browsers.remove(key);
+        usedSlots.decrementAndGet();
+        ContextReuse.close(pooled);
+        try {
+            pooled.browser.close();
+        } catch (Exception e) {
+            logger.debug("Pooled browser close failed (already gone?): {}", e.getMessage());
+        }
+        try {
+            pooled.playwright.close();
+        } catch (Exception e) {
+            logger.debug("Pooled Playwright close failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Closes every pooled browser and Playwright engine.
+     * Called once at the end of the suite, after all worker threads have finished —
+     * so no thread is still using the objects being closed.
+     */
+    public void shutdown() {
+        if (browsers.isEmpty()) return;
+        logger.debug("Shutting down browser pool ({} browsers).", browsers.size());
+        for (Map.Entry<String, PooledBrowser> entry : new ArrayList<>(browsers.entrySet())) {
+            logger.debug("Pooled browser \"{}\" served {} scenarios.", entry.getKey(), entry.getValue().scenariosServed);
+            dispose(entry.getKey(), entry.getValue());
+        }
+    }
+}
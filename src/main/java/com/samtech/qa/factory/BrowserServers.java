@@ -0,0 +1,275 @@
+package com.samtech.qa.factory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.impl.driver.Driver;
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BrowserServers — Launches browsers ONCE per machine and lets workers connect to them.
+ *
+ * In server mode, browsers are started as Playwright browser servers at @BeforeSuite
+ * and every worker attaches with BrowserType.connect(wsEndpoint) instead of launching
+ * its own browser process. Surefire forks and other runner classes on the same machine
+ * find the running servers and connect to the same warm browsers — nobody cold-starts
+ * a browser per fork.
+ *
+ * How a server is found for an engine (first match wins):
+ *   1. System property  → -Dbrowser.server.endpoint.chromium=ws://127.0.0.1:4000/abc
+ *   2. Endpoint file    → target/browser-servers/chromium.ws (written by whoever launched it)
+ *   3. Neither found (or not reachable) → this JVM launches a new server and writes the file
+ *
+ * Launching uses the Playwright driver bundled with the Java client
+ * ("launch-server" command), so no separate Node.js install is needed.
+ *
+ * Sharing and shutdown:
+ *   Every JVM that uses a server leaves a lease file ({engine}.{pid}.lease). At suite end a
+ *   JVM removes its own lease, and only the LAST JVM still holding a lease stops the
+ *   server — so a fork that finishes early never pulls a browser away from a slower one.
+ *   All of this happens under a file lock, so parallel forks never race each other.
+ *
+ * Config (config file or CLI):
+ *   browser.server.enabled=true → turn server mode on (default: false)
+ */
+public class BrowserServers {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserServers.class);
+
+    // ── Singleton — one registry of servers per JVM ──
+    private static final BrowserServers servers = new BrowserServers();
+
+    // Shared folder for endpoint, lease and log files (one per machine/workspace)
+    private static final Path SERVER_DIR = Paths.get("target/browser-servers");
+
+    // How long to wait for a freshly launched server to print its endpoint
+    private static final long LAUNCH_TIMEOUT_MS = 60000;
+
+    // ── Endpoints this JVM is connected to, keyed by engine ──
+    private final Map<String, String> endpoints = new ConcurrentHashMap<>();
+
+    private final long pid = ProcessHandle.current().pid();
+
+    private BrowserServers() {}
+
+    /**
+     * Returns the single shared BrowserServers instance.
+     */
+    public static BrowserServers getInstance() {
+        return servers;
+    }
+
+    /**
+     * Returns true if server mode is switched on via "browser.server.enabled".
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("browser.server.enabled"));
+    }
+
+    /**
+     * Makes sure a browser server is running for every engine and takes a lease on it.
+     * Called once from the runner's @BeforeSuite.
+     *
+     * @param engines    — Engines this run needs (the browser, or every matrix engine)
+     * @param isHeadless — Headless flag for servers this JVM has to launch
+     */
+    public void start(Collection<String> engines, boolean isHeadless) {
+        withLock(() -> {
+            for (String engine : engines) {
+                String endpoint = discover(engine);
+                if (endpoint == null) {
+                    endpoint = launch(engine, isHeadless);
+                }
+                Files.write(SERVER_DIR.resolve(engine + "." + pid + ".lease"), new byte[0]);
+                endpoints.put(engine, endpoint);
+                logger.info("Browser server for \"{}\" available at {}", engine, endpoint);
+            }
+        });
+    }
+
+    /**
+     * Returns the endpoint workers should connect to for an engine,
+     * or null if no server was started for it (DriverFactory then launches normally).
+     */
+    public String endpointFor(String engine) {
+        return endpoints.get(engine.trim().toLowerCase());
+    }
+
+    /**
+     * Looks for an already-running server: system property first, then the endpoint file.
+     * Returns null if none is configured or the one found no longer answers.
+     */
+    private String discover(String engine) throws IOException {
+        String endpoint = System.getProperty("browser.server.endpoint." + engine);
+        if (endpoint == null) {
+            Path file = SERVER_DIR.resolve(engine + ".ws");
+            if (Files.exists(file)) {
+                endpoint = Files.readAllLines(file, StandardCharsets.UTF_8).get(0).trim();
+            }
+        }
+        if (endpoint != null && !isReachable(endpoint)) {
+            logger.debug("Browser server endpoint {} is stale — a new server will be launched.", endpoint);
+            return null;
+        }
+        return endpoint;
+    }
+
+    /**
+     * Starts a new browser server through the bundled Playwright driver and waits for
+     * it to print its ws:// endpoint. The endpoint and server PID are written to
+     * {engine}.ws so other JVMs can find (and eventually stop) it.
+     */
+    private String launch(String engine, boolean isHeadless) throws IOException {
+        // Same flags as a normal launch (see DriverFactory.launchBrowser)
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("headless", isHeadless);
+        options.put("args", Arrays.asList("--start-maximized", "--disable-extensions", "--allow-insecure-localhost"));
+        Path config = SERVER_DIR.resolve(engine + ".launch.json");
+        new ObjectMapper().writeValue(config.toFile(), options);
+
+        // Output goes to a file, not a pipe — the server may outlive this JVM
+        Path output = SERVER_DIR.resolve(engine + ".out");
+        Files.deleteIfExists(output);
+
+        ProcessBuilder builder = Driver.ensureDriverInstalled(Collections.emptyMap(), true).createProcessBuilder();
+        builder.command().addAll(Arrays.asList("launch-server", "--browser", engine, "--config", config.toAbsolutePath().toString()));
+        builder.redirectOutput(output.toFile());
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+
+        long deadline = System.currentTimeMillis() + LAUNCH_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            if (Files.exists(output)) {
+                for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+                    if (line.startsWith("ws://")) {
+                        Files.write(SERVER_DIR.resolve(engine + ".ws"),
+                                Arrays.asList(line.trim(), String.valueOf(process.pid())), StandardCharsets.UTF_8);
+                        return line.trim();
+                    }
+                }
+            }
+            if (!process.isAlive()) break;
+            sleep(100);
+        }
+        process.destroy();
+        throw new RuntimeException("Browser server for '" + engine + "' did not start. See " + output);
+    }
+
+    /**
+     * Quick TCP check — is anything still listening on the endpoint's host and port?
+     */
+    private boolean isReachable(String endpoint) {
+        try (Socket socket = new Socket()) {
+            URI uri = URI.create(endpoint);
+            socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), 1000);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Releases this JVM's leases and stops every server no other live JVM still uses.
+     * Called once at suite end, after all workers have disconnected.
+     */
+    public void shutdown() {
+        if (endpoints.isEmpty()) return;
+        withLock(() -> {
+            for (String engine : endpoints.keySet()) {
+                Files.deleteIfExists(SERVER_DIR.resolve(engine + "." + pid + ".lease"));
+                if (hasLiveLeases(engine)) {
+                    logger.debug("Browser server for \"{}\" still in use by another JVM — left running.", engine);
+                    continue;
+                }
+                stopServer(engine);
+            }
+        });
+        endpoints.clear();
+    }
+
+    /**
+     * Returns true if any other JVM that is still alive holds a lease on the engine's server.
+     * Leases left behind by crashed JVMs are cleaned up on the way.
+     */
+    private boolean hasLiveLeases(String engine) throws IOException {
+        boolean live = false;
+        try (DirectoryStream<Path> leases = Files.newDirectoryStream(SERVER_DIR, engine + ".*.lease")) {
+            for (Path lease : leases) {
+                String name = lease.getFileName().toString();
+                long owner = Long.parseLong(name.substring(engine.length() + 1, name.length() - ".lease".length()));
+                if (ProcessHandle.of(owner).map(ProcessHandle::isAlive).orElse(false)) {
+                    live = true;
+                } else {
+                    Files.deleteIfExists(lease);
+                }
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Stops the server recorded in {engine}.ws (browser processes first, then the driver)
+     * and removes its endpoint file. Servers passed in via system property are not ours — left
+     * alone, and so is the server in the file if this JVM was connected to a different one.
+     */
+    private void stopServer(String engine) throws IOException {
+        if (System.getProperty("browser.server.endpoint." + engine) != null) return;
+        Path file = SERVER_DIR.resolve(engine + ".ws");
+        if (!Files.exists(file)) return;
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).trim().equals(endpoints.get(engine))) {
+            logger.debug("Browser server in {} is not the one this run used — left running.", file);
+            return;
+        }
+        if (lines.size() > 1) {
+            ProcessHandle.of(Long.parseLong(lines.get(1).trim())).ifPresent(server -> {
+                server.descendants().forEach(ProcessHandle::destroy);
+                server.destroy();
+            });
+        }
+        Files.deleteIfExists(file);
+        logger.info("Browser server for \"{}\" stopped.", engine);
+    }
+
+    /**
+     * Runs an action while holding the machine-wide lock file, so parallel forks
+     * never launch duplicate servers or stop a server another fork just leased.
+     */
+    private void withLock(IoAction action) {
+        try {
+            Files.createDirectories(SERVER_DIR);
+            try (RandomAccessFile lockFile = new RandomAccessFile(SERVER_DIR.resolve(".lock").toFile(), "rw");
+                 FileLock ignored = lockFile.getChannel().lock()) {
+                action.run();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Browser server coordination failed: " + e.getMessage(), e);
+        }
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.samtech.qa.factory;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * BrowserSession — A complete, ready-to-use browser session.
+ *
+ * Bundles the four Playwright objects a scenario needs:
+ *   Playwright → Browser → BrowserContext → Page
+ *
+ * Sessions are built ahead of time by SessionPrewarmer on a helper thread and then
+ * handed over to a worker thread in one piece. The session OWNS all four objects —
+ * whoever receives it is responsible for closing them (DriverFactory.closePlaywright()).
+ *
+ * Thread Safety:
+ *   A session is only ever used by one thread at a time — built on the helper thread,
+ *   then used exclusively by the worker thread that took it. It is never shared.
+ */
+public class BrowserSession {
+
+    private final Playwright playwright;
+    private final Browser browser;
+    private final BrowserContext context;
+    private final Page page;
+
+    public BrowserSession(Playwright playwright, Browser browser, BrowserContext context, Page page) {
+        this.playwright = playwright;
+        this.browser = browser;
+        this.context = context;
+        this.page = page;
+    }
+
+    public Playwright getPlaywright() {
+        return playwright;
+    }
+
+    public Browser getBrowser() {
+        return browser;
+    }
+
+    public BrowserContext getContext() {
+        return context;
+    }
+
+    public Page getPage() {
+        return page;
+    }
+
+    /**
+     * Closes every object in the session — used for sessions that were built but never used.
+     * Each close is best-effort so one failure doesn't leak the remaining objects.
+     */
+    public void close() {
+        try {
+            context.close();
+        } catch (Exception ignored) {
+            // Context may already be gone if the browser crashed
+        }
+        try {
+            browser.close();
+        } catch (Exception ignored) {
+            // Browser may already be disconnected
+        }
+        playwright.close();
+    }
+}
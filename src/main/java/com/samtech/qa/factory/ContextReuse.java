@@ -0,0 +1,153 @@
+package com.samtech.qa.factory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ContextReuse — Re-uses one BrowserContext per pooled browser, resetting it between scenarios.
+ *
+ * Even with a pooled browser, every scenario still creates (and later closes) its own
+ * BrowserContext. In reuse mode each worker keeps ONE context alive next to its pooled
+ * browser and only wipes its state between scenarios — cheaper than a new context.
+ *
+ * Reset between scenarios (run when a scenario releases the context):
+ *   1. Clear cookies and granted permissions
+ *   2. Clear localStorage + sessionStorage in every open page
+ *   3. Close every page except the first one
+ *   4. Navigate the remaining page to about:blank
+ *   5. Verify — no cookies, no stored origins, one blank page left
+ * If any step fails or the verification doesn't hold, the context is closed and the
+ * next scenario gets a fresh one — a dirty context is never handed out.
+ *
+ * Scenarios that still get a fresh context:
+ *   - Tagged @isolated                → need a guaranteed clean session
+ *   - Started from a saved login      → context must be created from the storage state
+ *   - Unpooled browsers               → nothing to keep the context alive in
+ *
+ * Config (config file or CLI):
+ *   context.reuse.enabled=true → turn reuse on (default: false, needs browser.pool.enabled=true)
+ *
+ * NOTE: A re-used context is created without video recording (one context would
+ * otherwise record one growing video across many scenarios). Traces still work.
+ */
+public class ContextReuse {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContextReuse.class);
+
+    /**
+     * Returns true if context reuse is switched on via "context.reuse.enabled".
+     * Only has an effect together with browser.pool.enabled=true.
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("context.reuse.enabled"));
+    }
+
+    /**
+     * Returns the pooled browser's re-usable context, creating it on first use.
+     * The context handed out always has exactly one blank page (see reset()).
+     *
+     * @param pooled — The current worker's pooled browser
+     * @return       — A clean, re-usable BrowserContext
+     */
+    static BrowserContext acquire(BrowserPool.PooledBrowser pooled) {
+        BrowserContext context = pooled.getReusableContext();
+        if (context == null) {
+            context = DriverFactory.newContext(pooled.getBrowser(), null, false);
+            context.newPage();
+            pooled.setReusableContext(context);
+            logger.debug("Re-usable browser context created for this worker.");
+        }
+        return context;
+    }
+
+    /**
+     * Resets the pooled browser's re-usable context after a scenario.
+     * If the reset can't be verified, the context is closed and dropped, so the
+     * next acquire() starts over with a fresh one.
+     *
+     * @param pooled — The current worker's pooled browser
+     * @return       — Time the reset took (ms) — counted towards the next scenario's setup
+     */
+    static long release(BrowserPool.PooledBrowser pooled) {
+        BrowserContext context = pooled.getReusableContext();
+        if (context == null) return 0;
+
+        long start = System.currentTimeMillis();
+        boolean clean;
+        try {
+            clean = reset(context);
+        } catch (Exception e) {
+            logger.debug("Context reset failed: {}", e.getMessage());
+            clean = false;
+        }
+
+        if (!clean) {
+            logger.warn("Re-usable context could not be reset cleanly — a fresh context will be created.");
+            pooled.setReusableContext(null);
+            try {
+                context.close();
+            } catch (Exception e) {
+                logger.debug("Closing dirty context failed: {}", e.getMessage());
+            }
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Wipes all scenario state from a context and checks that it's really gone.
+     *
+     * @return — true if the context is verified clean
+     */
+    private static boolean reset(BrowserContext context) throws Exception {
+        context.clearCookies();
+        context.clearPermissions();
+
+        // Storage is per origin — clear it in whatever each page currently shows
+        List<Page> pages = new ArrayList<>(context.pages());
+        for (Page page : pages) {
+            try {
+                page.evaluate("() => { try { localStorage.clear(); sessionStorage.clear(); } catch (e) {} }");
+            } catch (Exception e) {
+                logger.debug("Storage clear skipped for a page: {}", e.getMessage());
+            }
+        }
+
+        // Keep one page, close the rest (popups, new tabs opened by the scenario)
+        Page keep = pages.isEmpty() ? context.newPage() : pages.get(0);
+        for (Page page : pages) {
+            if (page != keep) page.close();
+        }
+        keep.navigate("about:blank");
+
+        // ── Verify ──
+        if (!context.cookies().isEmpty()) return false;
+        if (context.pages().size() != 1 || !"about:blank".equals(keep.url())) return false;
+        JsonNode origins = new ObjectMapper().readTree(context.storageState()).path("origins");
+        for (JsonNode origin : origins) {
+            if (origin.path("localStorage").size() > 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Closes a pooled browser's re-usable context (called when the pooled browser is disposed).
+     */
+    static void close(BrowserPool.PooledBrowser pooled) {
+        BrowserContext context = pooled.getReusableContext();
+        if (context == null) return;
+        pooled.setReusableContext(null);
+        try {
+            context.close();
+        } catch (Exception e) {
+            logger.debug("Re-usable context close failed: {}", e.getMessage());
+        }
+    }
+}
@@ -7,17 +7,26 @@ import com.samtech.qa.utils.ExcelUtility.ExcelReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * DriverFactory — Central class for managing Playwright browser sessions.
  *
  * Responsible for:
- *   - Launching the correct browser (Chromium, Firefox, or WebKit)
+ *   - Launching the correct browser (Chromium, Firefox, or WebKit — or one per lane, see BrowserLanes)
  *   - Configuring browser settings (headless mode, timeouts, video recording)
  *   - Providing a Page object that test steps use to interact with the UI
  *   - Safely closing all browser resources after each test
+ *   - Optionally re-using a long-lived pooled browser per worker (see BrowserPool)
+ *   - Optionally handing out sessions built ahead of time (see SessionPrewarmer)
+ *   - Optionally handing out pages already showing the entry URL (see EntryPage)
+ *   - Optionally connecting to shared browser servers instead of launching (see BrowserServers)
+ *   - Optionally re-using one reset context per pooled browser (see ContextReuse)
+ *   - Optionally closing finished sessions in the background (see TeardownPipeline)
  *
  * Thread Safety:
  *   All browser objects (Playwright, Browser, BrowserContext, Page) are stored
@@ -29,7 +38,7 @@ import java.util.Arrays;
 public class DriverFactory {
 
     // Logger for printing debug/error messages to the console and log files
-    private final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
+    private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
 
     // ── ThreadLocal browser objects ──────────────────────────────────────────
     // Each variable holds a separate instance per thread.
@@ -55,22 +64,95 @@ public class DriverFactory {
         return tlPage;
     }
 
+    // Set when this scenario's Browser + Playwright belong to BrowserPool
+    // (they must then be left open in closePlaywright() for the next scenario)
+    private BrowserPool.PooledBrowser pooledBrowser;
+
+    // True when this scenario runs in the pooled browser's re-usable context
+    // (it is reset, not closed, in closePlaywright() — see ContextReuse)
+    private boolean reusedContext;
+
+    // True for scenarios tagged @isolated — they always get a brand-new context
+    private boolean isolated;
+
+    // Video of a passed scenario, deleted by TeardownPipeline once the context is closed
+    private Path videoToDrop;
+
+    // Storage-state snapshot (cookies + localStorage) to create the context from,
+    // set before initPlaywright() when a cached login can be re-used (see AuthStateCache)
+    private Path storageState;
+
+    /**
+     * Requests that this scenario's context is created from a saved storage state,
+     * so the scenario starts already logged in. Must be called before initPlaywright().
+     *
+     * @param storageState — Path to a storage-state JSON file (from AuthStateCache)
+     */
+    public void useStorageState(Path storageState) {
+        this.storageState = storageState;
+    }
+
+    /**
+     * Requests a brand-new context for this scenario even when context reuse is on
+     * (used for scenarios tagged @isolated). Must be called before initPlaywright().
+     */
+    public void requireIsolatedContext() {
+        this.isolated = true;
+    }
+
+    /**
+     * Returns true if this scenario runs in a re-used context — the context must then
+     * be left open after the scenario, and no video is recorded (see ContextReuse).
+     */
+    public boolean isContextReused() {
+        return reusedContext;
+    }
+
+    /**
+     * Returns true if this scenario's session will be closed by the TeardownPipeline
+     * instead of on the worker thread. Only sessions that own their Playwright engine
+     * qualify — pooled browsers and re-used contexts stay with the worker.
+     */
+    public boolean isAsyncTeardown() {
+        return TeardownPipeline.isEnabled() && pooledBrowser == null && !reusedContext;
+    }
+
+    /**
+     * Marks a video file for deletion once the background teardown has closed the context.
+     *
+     * @param videoPath — Video of a passed scenario (see ApplicationHooks.captureVideo)
+     */
+    public void dropVideoAfterClose(Path videoPath) {
+        this.videoToDrop = videoPath;
+    }
+
     /**
      * Initializes Playwright and launches the browser for the current test thread.
      *
      * Steps performed:
      *   1. Reads browser name and headless flag from system properties or config file
+     *      (in matrix mode the browser name is the engine of the current lane)
      *   2. Launches the appropriate browser with standard flags
+     *      (or re-uses this worker's pooled browser when browser.pool.enabled=true,
+     *       or takes a session pre-built in the background when session.prewarm.enabled=true)
      *   3. Creates a browser context (isolated session) with video recording enabled
      *   4. Applies global timeouts for assertions, waits, and page navigation
+     *      (or re-uses the pooled browser's reset context when context.reuse.enabled=true)
      *   5. Opens a new page (tab) and returns it for use in tests
+     *      (a pre-warmed page already shows the entry URL when session.prenavigate.enabled=true)
+     *
+     * The setup time is recorded per mode for the session setup benchmark (see SessionSetupBenchmark).
      *
      * @return Page — the browser tab that test steps will interact with
      */
     public Page initPlaywright(){
+        long setupStart = System.currentTimeMillis();
 
         // ── Read browser name from Maven CLI (-Dbrowser=chromium) or config file ──
-        String browserName = System.getProperty("browser", ConfigLoader.getInstance().getMandatoryProp("browser"));
+        // In matrix mode the engine comes from the lane this thread is running in
+        String browserName = BrowserLanes.currentEngine() != null
+                ? BrowserLanes.currentEngine()
+                : System.getProperty("browser", ConfigLoader.getInstance().getMandatoryProp("browser"));
         if (browserName == null || browserName.isEmpty()) {
             logger.error("CRITICAL ERROR: Browser name not specified in Maven flag (-Dbrowser) or config files.");
             throw new RuntimeException("Missing Browser Configuration: Please define 'browser' in your properties or pass it via CLI.");
@@ -81,74 +163,237 @@ public class DriverFactory {
         Boolean isHeadless = Boolean.parseBoolean(System.getProperty("headless", ConfigLoader.getInstance().getOptionalProp("headless")));
         logger.debug("Headless flag set to: {}", isHeadless);
 
-        // ── Start the Playwright engine for this thread ──
-        tlPlaywright.set(Playwright.create());
+        // ── Pooled mode: re-use this worker's long-lived Playwright + Browser ──
+        // Returns null if the pool is full — we then fall through to a normal launch.
+        BrowserPool.PooledBrowser pooled = BrowserPool.isEnabled()
+                ? BrowserPool.getInstance().acquire(browserName, isHeadless)
+                : null;
+
+        pooledBrowser = pooled;
+        if (pooled != null) {
+            tlPlaywright.set(pooled.getPlaywright());
+            tlBrowser.set(pooled.getBrowser());
+            logger.debug("Re-using pooled browser (scenario #{} on this worker).", pooled.getScenariosServed());
+
+            // ── Context reuse: take the worker's context, already reset after the last scenario ──
+            if (ContextReuse.isEnabled() && !isolated && storageState == null) {
+                reusedContext = true;
+                tlBrowserContext.set(ContextReuse.acquire(pooled));
+                tlPage.set(tlBrowserContext.get().pages().get(0));
+                SessionSetupBenchmark.record("reused-context",
+                        pooled.getLastResetMs() + System.currentTimeMillis() - setupStart);
+                logger.debug("Browser \"{}\" re-using reset browser context.", browserName);
+                return tlPage.get();
+            }
+        } else {
+
+            // ── Pre-warmed mode: pick up a session built in the background ──
+            // Playwright, Browser, Context (video + timeouts) and Page are all ready —
+            // nothing left to do on the critical path.
+            // (Not used when a storage state is requested — warm sessions are built without one)
+            BrowserSession warm = SessionPrewarmer.isEnabled() && storageState == null
+                    ? SessionPrewarmer.getInstance().take(browserName, isHeadless)
+                    : null;
+            if (warm != null) {
+                tlPlaywright.set(warm.getPlaywright());
+                tlBrowser.set(warm.getBrowser());
+                tlBrowserContext.set(warm.getContext());
+                tlPage.set(warm.getPage());
+                SessionSetupBenchmark.record("prewarmed", System.currentTimeMillis() - setupStart);
+                logger.debug("Browser \"{}\" session taken from pre-warmed queue.", browserName);
+                return tlPage.get();
+            }
+
+            // ── Start the Playwright engine for this thread ──
+            tlPlaywright.set(Playwright.create());
+            tlBrowser.set(launchBrowser(tlPlaywright.get(), browserName, isHeadless));
+        }
+
+        // ── Create the context with video + timeouts applied ──
+        tlBrowserContext.set(newContext(tlBrowser.get(), storageState));
+        if (storageState != null) logger.debug("Context created from saved storage state: {}", storageState);
+
+        // ── Open a new browser tab and return it to the calling test ──
+        tlPage.set(tlBrowserContext.get().newPage());
+        SessionSetupBenchmark.record(pooled != null ? "new-context" : "new-browser", System.currentTimeMillis() - setupStart);
+        logger.debug("Browser \"{}\" launched successfully.", browserName);
+        return tlPage.get();
+    }
+
+    /**
+     * Builds a complete, self-contained session: Playwright → Browser → Context → Page.
+     *
+     * Used by SessionPrewarmer to prepare sessions on a helper thread. The session
+     * owns its own Playwright engine, so it can be handed to any worker thread.
+     *
+     * @param browserName — chromium / firefox / webkit
+     * @param isHeadless  — true = no visible browser window
+     * @return            — A ready-to-use BrowserSession
+     */
+    static BrowserSession openSession(String browserName, boolean isHeadless) {
+        Playwright playwright = Playwright.create();
+        try {
+            Browser browser = launchBrowser(playwright, browserName, isHeadless);
+            BrowserContext context = newContext(browser, null);
+            Page page = context.newPage();
+            // Load the entry URL now, off the critical path, so the Background step can skip it
+            if (EntryPage.isEnabled()) EntryPage.preload(page);
+            return new BrowserSession(playwright, browser, context, page);
+        } catch (RuntimeException e) {
+            // Don't leak the engine if the launch fails half-way
+            playwright.close();
+            throw e;
+        }
+    }
 
-        // ── Launch the correct browser based on the browser name ──
-        // Standard flags applied to all browsers:
-        //   --start-maximized        → opens browser in full screen
-        //   --disable-extensions     → prevents browser extensions interfering with tests
-        //   --allow-insecure-localhost → allows testing on local HTTPS without cert errors
+    /**
+     * Launches the requested browser on the given Playwright engine.
+     *
+     * Shared by the per-scenario launch in initPlaywright() and by BrowserPool,
+     * so pooled and unpooled browsers are started with exactly the same flags.
+     * In server mode (browser.server.enabled=true) the browser is not launched at all —
+     * the engine connects to the shared browser server started at @BeforeSuite instead.
+     *
+     * Standard flags applied to all browsers:
+     *   --start-maximized        → opens browser in full screen
+     *   --disable-extensions     → prevents browser extensions interfering with tests
+     *   --allow-insecure-localhost → allows testing on local HTTPS without cert errors
+     *
+     * @param playwright  — The Playwright engine to launch the browser with
+     * @param browserName — chromium / firefox / webkit
+     * @param isHeadless  — true = no visible browser window
+     * @return            — The launched (or connected) Browser
+     */
+    static Browser launchBrowser(Playwright playwright, String browserName, boolean isHeadless) {
+        BrowserType browserType;
         switch (browserName.trim().toLowerCase()){
             case "chromium":
-                tlBrowser.set(tlPlaywright.get().chromium().launch(
-                        new BrowserType.LaunchOptions()
-                                .setHeadless(isHeadless)
-                                .setArgs(Arrays.asList("--start-maximized",
-                                        "--disable-extensions",
-                                        "--allow-insecure-localhost")
-                                ))
-                );
+                browserType = playwright.chromium();
                 break;
             case "firefox":
-                tlBrowser.set(tlPlaywright.get().firefox().launch(
-                        new BrowserType.LaunchOptions()
-                                .setHeadless(isHeadless)
-                                .setArgs(Arrays.asList("--start-maximized",
-                                        "--disable-extensions",
-                                        "--allow-insecure-localhost")
-                                ))
-                );
+                browserType = playwright.firefox();
                 break;
             case "webkit":
                 // WebKit is the engine behind Safari — useful for cross-browser coverage
-                tlBrowser.set(tlPlaywright.get().webkit().launch(
-                        new BrowserType.LaunchOptions()
-                                .setHeadless(isHeadless)
-                                .setArgs(Arrays.asList("--start-maximized",
-                                        "--disable-extensions",
-                                        "--allow-insecure-localhost")
-                                ))
-                );
+                browserType = playwright.webkit();
                 break;
-            case "default":
+            default:
                 // Catches invalid/unsupported browser names
                 logger.debug("Provided browser \"{}\"  is not valid or configured", browserName);
-                break;
+                throw new RuntimeException("Unsupported browser: " + browserName + ". Use chromium, firefox or webkit.");
+        }
+
+        // ── Server mode: attach to the already-running browser server for this engine ──
+        String endpoint = BrowserServers.isEnabled() ? BrowserServers.getInstance().endpointFor(browserName) : null;
+        if (endpoint != null) {
+            logger.debug("Connecting to browser server at {}", endpoint);
+            return browserType.connect(endpoint);
         }
 
-        // ── Create a browser context (like an isolated incognito session) ──
-        // setViewportSize(null) → disables fixed viewport, lets browser use full window size
-        // setRecordVideoDir   → automatically records a video of every test run
-        // setRecordVideoSize  → sets the video resolution (1280x720 = HD)
-        tlBrowserContext.set(tlBrowser.get().newContext(
-                new Browser.NewContextOptions().setViewportSize(null)
-                        .setRecordVideoDir(Paths.get("test-output/videos/"))
-                        .setRecordVideoSize(1280, 720)));
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
+                .setHeadless(isHeadless)
+                .setArgs(Arrays.asList("--start-maximized",
+                        "--disable-extensions",
+                        "--allow-insecure-localhost"));
+        return browserType.launch(options);
+    }
+
+    /**
+     * Creates a browser context (like an isolated incognito session) and applies global timeouts.
+     *
+     *   setViewportSize(null) → disables fixed viewport, lets browser use full window size
+     *   setRecordVideoDir   → automatically records a video of every test run
+     *   setRecordVideoSize  → sets the video resolution (1280x720 = HD)
+     *
+     *   setStorageStatePath → (optional) starts the context with saved cookies/localStorage
+     *
+     * @param browser      — The (pooled or freshly launched) browser to open the context in
+     * @param storageState — Saved storage state to start from, or null for a clean context
+     * @return             — The new BrowserContext with timeouts applied
+     */
+    static BrowserContext newContext(Browser browser, Path storageState) {
+        return newContext(browser, storageState, true);
+    }
+
+    /**
+     * Same as newContext(browser, storageState), with video recording optional —
+     * re-used contexts (see ContextReuse) are created without it.
+     *
+     * Server mode never records video: on a browser attached with connect() the video file
+     * is written on the server side, so video().path() throws and there is nothing local
+     * to attach or delete. The trace of a failed scenario is still attached.
+     */
+    static BrowserContext newContext(Browser browser, Path storageState, boolean recordVideo) {
+        Browser.NewContextOptions options = new Browser.NewContextOptions().setViewportSize(null);
+        if (recordVideo && !BrowserServers.isEnabled()) {
+            options.setRecordVideoDir(Paths.get("test-output/videos/"))
+                    .setRecordVideoSize(1280, 720);
+        }
+        if (storageState != null) {
+            options.setStorageStatePath(storageState);
+        }
+        BrowserContext context = browser.newContext(options);
 
         // ── Apply global timeouts (all values come from config file) ──
         // Assertion timeout → how long Playwright waits for an assertion to pass before failing
-        PlaywrightAssertions.setDefaultAssertionTimeout(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("timeout.default.assertion")));
+        PlaywrightAssertions.setDefaultAssertionTimeout(ConfigLoader.getInstance().getSnapshot().assertionMs);
         // Global wait timeout → how long Playwright waits for any element action (click, fill, etc.)
-        tlBrowserContext.get().setDefaultTimeout(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("timeout.global.wait")));
+        context.setDefaultTimeout(ConfigLoader.getInstance().getSnapshot().globalWaitMs);
         // Navigation timeout → how long to wait for a page to fully load
-        tlBrowserContext.get().setDefaultNavigationTimeout(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("timeout.page.load")));
+        context.setDefaultNavigationTimeout(ConfigLoader.getInstance().getSnapshot().pageLoadMs);
         logger.debug("Default Assertion timeout, Global timeout, Navigation timeout set.");
+        return context;
+    }
 
-        // ── Open a new browser tab and return it to the calling test ──
-        tlPage.set(tlBrowserContext.get().newPage());
-        logger.debug("Browser \"{}\" launched successfully.", browserName);
-        return tlPage.get();
+    /**
+     * Suite-level setup — called once from the runner's @BeforeSuite.
+     *
+     *   - Starts (or finds) the shared browser servers when browser.server.enabled=true,
+     *     so every worker — and every other fork on this machine — connects instead of launching
+     *   - Runs the one-time Playwright bootstrap + warm-up when playwright.bootstrap.enabled=true
+     *     (see PlaywrightBootstrap)
+     *   - Queues every worker's first session when session.prewarm.enabled=true, so the first
+     *     scenarios start warm too (see SessionPrewarmer)
+     * Does nothing when none of these are switched on.
+     */
+    public static void startSuite() {
+        boolean isHeadless = Boolean.parseBoolean(System.getProperty("headless", ConfigLoader.getInstance().getOptionalProp("headless")));
+        if (BrowserServers.isEnabled()) {
+            BrowserServers.getInstance().start(configuredEngines(), isHeadless);
+        }
+        if (PlaywrightBootstrap.isEnabled()) {
+            PlaywrightBootstrap.bootstrap(configuredEngines(), isHeadless);
+        }
+        SessionPrewarmer.getInstance().primeSuite(configuredEngines(), isHeadless);
+    }
+
+    /**
+     * Returns the browser engines this run uses — every "browser.matrix" engine in
+     * matrix mode, otherwise just the configured "browser".
+     */
+    public static List<String> configuredEngines() {
+        if (BrowserLanes.isMatrixEnabled()) {
+            return BrowserLanes.engines();
+        }
+        String browserName = System.getProperty("browser", ConfigLoader.getInstance().getMandatoryProp("browser"));
+        return Collections.singletonList(browserName.trim().toLowerCase());
+    }
+
+    /**
+     * Suite-level cleanup — called once from the runner's @AfterSuite.
+     *
+     * Closes every browser that outlives a single scenario (pooled browsers and
+     * unused pre-warmed sessions) and logs the session metrics for the run.
+     * Safe to call when none of these modes are switched on.
+     */
+    public static void shutdownSuite() {
+        BrowserLanes.shutdown();                    // Stop matrix lane workers (all idle by now)
+        TeardownPipeline.getInstance().drain();     // Wait for background session closes to finish
+        BrowserPool.getInstance().shutdown();       // Close pooled browsers
+        BrowserServers.getInstance().shutdown();    // Release server leases — the last JVM out stops the servers
+        SessionPrewarmer.getInstance().shutdown();  // Close unused warm sessions + log hit/cold metrics
+        EntryPage.logSummary();                     // Log Background time saved by pre-navigation
+        SessionSetupBenchmark.generateReport();     // Write per-mode session setup times
     }
 
     /**
@@ -156,17 +401,46 @@ public class DriverFactory {
      *
      * Resources are closed in reverse order of creation:
      *   Page → BrowserContext → Browser → Playwright
+     * In pooled mode only Page and BrowserContext are closed — the Browser and
+     * Playwright engine belong to BrowserPool and are re-used by the next scenario.
+     * A re-used context is not closed at all — it is reset for the next scenario instead.
      *
      * Why this order matters:
      *   Closing in reverse ensures each layer shuts down cleanly before
      *   the parent layer is destroyed. Skipping this can cause hanging
      *   processes or incomplete video recordings.
      *
+     * With teardown.async.enabled=true a session that owns its Playwright engine is
+     * handed to the TeardownPipeline instead, and this method returns straight away.
+     *
      * After closing, ThreadLocal variables are cleared (remove()) to
      * prevent memory leaks in long-running parallel test suites.
      */
     public void closePlaywright(){
 
+        if (isAsyncTeardown() && tlPlaywright.get() != null) {
+            // Hand the whole session to the background closers — this worker is free right away
+            TeardownPipeline.getInstance().submit(new BrowserSession(tlPlaywright.get(), tlBrowser.get(),
+                    tlBrowserContext.get(), tlPage.get()), videoToDrop);
+            logger.debug("Browser session handed to the teardown pipeline.");
+            tlPage.remove();
+            tlBrowserContext.remove();
+            tlBrowser.remove();
+            tlPlaywright.remove();
+            return;
+        }
+
+        if (reusedContext) {
+            // Wipe cookies/storage/extra tabs — the context serves this worker's next scenario
+            pooledBrowser.setLastResetMs(ContextReuse.release(pooledBrowser));
+            logger.debug("Re-used browser context reset for the next scenario.");
+            tlPage.remove();
+            tlBrowserContext.remove();
+            tlBrowser.remove();
+            tlPlaywright.remove();
+            return;
+        }
+
         // Close the page (tab) first
         if (tlPage.get() != null)
             tlPage.get().close();
@@ -177,15 +451,21 @@ public class DriverFactory {
             tlBrowserContext.get().close();
         logger.debug("Browser context closed successfully.");
 
-        // Close the browser itself
-        if (tlBrowser.get()!= null)
-            tlBrowser.get().close();
-        logger.debug("Browser closed successfully.");
+        if (pooledBrowser != null) {
+            // Pooled browser stays alive for this worker's next scenario —
+            // BrowserPool.shutdown() closes it at the end of the suite
+            logger.debug("Pooled browser kept open for the next scenario.");
+        } else {
+            // Close the browser itself
+            if (tlBrowser.get()!= null)
+                tlBrowser.get().close();
+            logger.debug("Browser closed successfully.");
 
-        // Shut down the Playwright engine
-        if(tlPlaywright.get() != null)
-            tlPlaywright.get().close();
-        logger.debug("Playwright closed successfully.");
+            // Shut down the Playwright engine
+            if(tlPlaywright.get() != null)
+                tlPlaywright.get().close();
+            logger.debug("Playwright closed successfully.");
+        }
 
         // ── Clean up ThreadLocal variables to prevent memory leaks ──
         // In parallel runs, not removing these can cause old thread data
@@ -0,0 +1,138 @@
+package com.samtech.qa.factory;
+
+import com.microsoft.playwright.Page;
+import com.samtech.qa.utils.ConfigLoader;
+import com.samtech.qa.utils.ElementUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EntryPage — Hands out pages that have already loaded the application's entry URL.
+ *
+ * Every scenario starts with the Background step navigating to the configured "url"
+ * and waiting for the login page to settle — a full cold page load on the critical path.
+ * When pre-navigation is switched on, the pre-warm helper thread loads that URL while it
+ * builds the next session (session.prewarm.enabled=true), so the Background step finds
+ * the app already open and skips the reload.
+ *
+ * Only pre-warmed sessions are preloaded. Pooled, re-used and cold sessions are built on
+ * the scenario's own thread — loading the URL there would just move the same wait from the
+ * Background step into session setup, and nothing would be saved.
+ *
+ * How it works:
+ *   1. preload(page)        → navigates to "url", waits for the page to settle,
+ *                             remembers the URL it landed on and how long it took
+ *   2. consume(page, url)   → called by BasePage.navigateTo(); if the page was preloaded
+ *                             with that URL and hasn't moved since, the navigation is
+ *                             skipped and the saved load time is returned
+ *
+ * Config (config file or CLI):
+ *   session.prenavigate.enabled=true → turn pre-navigation on (default: false)
+ *
+ * Each preload can only be consumed once — a second navigateTo() to the same URL
+ * in the same scenario performs a real navigation as usual.
+ */
+public class EntryPage {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntryPage.class);
+
+    // ── Pages that have been pre-navigated and not yet consumed ──
+    private static final Map<Page, Preload> preloaded = new ConcurrentHashMap<>();
+
+    // Pages with an onClose clean-up listener — registered once per page, however often it is preloaded
+    private static final Set<Page> watched = ConcurrentHashMap.newKeySet();
+
+    // Run totals — logged at suite end
+    private static final AtomicLong skippedNavigations = new AtomicLong();
+    private static final AtomicLong totalSavedMs = new AtomicLong();
+
+    /**
+     * What was preloaded into a page: the requested URL, where the browser landed
+     * (after redirects) and how long the load took.
+     */
+    private static class Preload {
+        private final String requestedUrl;
+        private final String landedUrl;
+        private final long loadMs;
+
+        Preload(String requestedUrl, String landedUrl, long loadMs) {
+            this.requestedUrl = requestedUrl;
+            this.landedUrl = landedUrl;
+            this.loadMs = loadMs;
+        }
+    }
+
+    /**
+     * Returns true if pre-navigation is switched on via "session.prenavigate.enabled".
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("session.prenavigate.enabled"));
+    }
+
+    /**
+     * Navigates a freshly created page to the configured entry URL and waits for it to settle.
+     * Called from DriverFactory.openSession() — i.e. on the pre-warm helper thread, off the
+     * critical path. Best-effort — if the load fails, the page is left as is and the
+     * Background step simply navigates normally.
+     *
+     * @param page — A new, unused page
+     */
+    static void preload(Page page) {
+        String url = ConfigLoader.getInstance().getMandatoryProp("url");
+        long start = System.currentTimeMillis();
+        try {
+            page.navigate(url);
+            new ElementUtils(page).waitForPageStable();
+        } catch (Exception e) {
+            logger.debug("Entry page pre-navigation failed, Background will navigate normally: {}", e.getMessage());
+            return;
+        }
+        long loadMs = System.currentTimeMillis() - start;
+
+        preloaded.put(page, new Preload(url, page.url(), loadMs));
+        if (watched.add(page)) {
+            page.onClose(closed -> {  // Never keep closed pages around
+                preloaded.remove(closed);
+                watched.remove(closed);
+            });
+        }
+        logger.debug("Entry page \"{}\" preloaded in {} ms.", url, loadMs);
+    }
+
+    /**
+     * Checks whether a page already shows the given URL from a preload.
+     *
+     * @param page — The page about to be navigated
+     * @param url  — The URL the caller wants to navigate to
+     * @return     — The load time saved (ms) if the navigation can be skipped, otherwise empty
+     */
+    public static OptionalLong consume(Page page, String url) {
+        Preload preload = preloaded.remove(page);
+        if (preload == null || !preload.requestedUrl.equals(url)) {
+            return OptionalLong.empty();
+        }
+        // The page must still be where the preload left it (no navigation since)
+        if (!preload.landedUrl.equals(page.url())) {
+            return OptionalLong.empty();
+        }
+        skippedNavigations.incrementAndGet();
+        totalSavedMs.addAndGet(preload.loadMs);
+        return OptionalLong.of(preload.loadMs);
+    }
+
+    /**
+     * Logs how many Background navigations were skipped and the total load time saved.
+     */
+    static void logSummary() {
+        long skipped = skippedNavigations.get();
+        if (skipped == 0) return;
+        logger.info("Entry page pre-navigation — navigations skipped: {}, Background time saved: {} ms total, {} ms per scenario",
+                skipped, totalSavedMs.get(), totalSavedMs.get() / skipped);
+    }
+}
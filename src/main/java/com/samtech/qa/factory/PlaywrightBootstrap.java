@@ -0,0 +1,86 @@
+package com.samtech.qa.factory;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.impl.driver.Driver;
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PlaywrightBootstrap — One-time Playwright setup and browser warm-up at suite start.
+ *
+ * The very first Playwright.create() in a JVM does much more than later ones: it
+ * extracts the bundled driver, checks (and if needed downloads) the browser binaries,
+ * and the first launch of each browser reads its files from a cold disk. Without a
+ * bootstrap, that cost lands on whichever scenarios happen to start first — so the
+ * first scenario per worker is noticeably slower than the hundredth.
+ *
+ * What bootstrap() does, once, from the runner's @BeforeSuite:
+ *   1. Installs/validates the Playwright driver and browser binaries
+ *   2. Starts one Playwright engine
+ *   3. Launches and closes one warm-up browser per engine → OS page cache is hot
+ *      (in server mode the servers are already up, so this just checks they accept connections)
+ * Right after it, DriverFactory.startSuite() primes the pre-warm queue when
+ * session.prewarm.enabled=true — on the binaries and page cache warmed up here.
+ * Each step is timed — the total is logged and shown in the Allure environment panel.
+ *
+ * Config (config file or CLI):
+ *   playwright.bootstrap.enabled=true → run the bootstrap (default: false)
+ */
+public class PlaywrightBootstrap {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaywrightBootstrap.class);
+
+    // Total bootstrap time in ms (-1 = bootstrap has not run)
+    private static volatile long bootstrapMs = -1;
+
+    /**
+     * Returns true if the suite-start bootstrap is switched on via "playwright.bootstrap.enabled".
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("playwright.bootstrap.enabled"));
+    }
+
+    /**
+     * Runs the one-time driver setup and warm-up launches.
+     *
+     * @param engines    — Engines this run uses (the browser, or every matrix engine)
+     * @param isHeadless — Headless flag for the warm-up launches
+     */
+    static void bootstrap(List<String> engines, boolean isHeadless) {
+        long start = System.currentTimeMillis();
+        Map<String, Long> timings = new LinkedHashMap<>();
+
+        // ── 1. Driver + browser binaries (the JVM-wide, one-time part of Playwright.create) ──
+        Driver.ensureDriverInstalled(Collections.emptyMap(), true);
+        timings.put("driver", System.currentTimeMillis() - start);
+
+        // ── 2 + 3. One engine, one throw-away launch per browser ──
+        long engineStart = System.currentTimeMillis();
+        try (Playwright playwright = Playwright.create()) {
+            timings.put("engine", System.currentTimeMillis() - engineStart);
+            for (String engine : engines) {
+                long launchStart = System.currentTimeMillis();
+                Browser browser = DriverFactory.launchBrowser(playwright, engine, isHeadless);
+                browser.close();
+                timings.put(engine, System.currentTimeMillis() - launchStart);
+            }
+        }
+
+        bootstrapMs = System.currentTimeMillis() - start;
+        logger.info("Playwright bootstrap finished in {} ms — {}", bootstrapMs, timings);
+    }
+
+    /**
+     * Returns how long the bootstrap took (ms), or -1 if it has not run.
+     */
+    public static long getBootstrapMs() {
+        return bootstrapMs;
+    }
+}
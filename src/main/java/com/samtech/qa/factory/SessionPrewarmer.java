@@ -0,0 +1,214 @@
+package com.samtech.qa.factory;
+
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SessionPrewarmer — Builds the next browser session in the background.
+ *
+ * Without pre-warming, Playwright.create(), the browser launch, newContext() with
+ * video recording and the timeout setup all run on the critical path of the first
+ * TestContext.getPage() call of every scenario. With pre-warming switched on, a
+ * helper thread builds a complete BrowserSession while the previous scenario is
+ * still running, so getPage() only has to pick it up.
+ *
+ * How it works:
+ *   1. A worker asks for a session with take()
+ *   2. If a session is already built (or being built), it is handed over
+ *      — otherwise take() returns null and DriverFactory builds one cold
+ *   3. Either way, a replacement session is scheduled on the helper thread
+ *      so it is (usually) ready by the time that worker's next scenario starts
+ *
+ * How it is switched on (config or CLI):
+ *   session.prewarm.enabled=true → turn pre-warming on (default: false)
+ *   session.prewarm.threads=2    → number of helper threads building sessions
+ *
+ * Pre-warming applies to unpooled sessions only. A pooled browser (BrowserPool) is
+ * bound to its worker thread, so a helper thread can't safely build contexts on it.
+ *
+ * Metrics (logged at shutdown, available through the getters):
+ *   warm hits   → session was fully built when the worker asked for it
+ *   warm waits  → session was still being built — the worker waited for the rest
+ *   cold starts → no session queued, the worker built one on the critical path
+ */
+public class SessionPrewarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionPrewarmer.class);
+
+    // ── Singleton — one prewarmer for the whole test run ──
+    private static final SessionPrewarmer prewarmer = new SessionPrewarmer();
+
+    // ── Sessions built (or being built), keyed by "{browserName}:{headless}" ──
+    private final Map<String, BlockingQueue<Future<BrowserSession>>> queues = new ConcurrentHashMap<>();
+
+    // Helper threads — created lazily on first use so a disabled prewarmer costs nothing
+    private volatile ExecutorService executor;
+
+    private final AtomicLong warmHits = new AtomicLong();
+    private final AtomicLong warmWaits = new AtomicLong();
+    private final AtomicLong coldStarts = new AtomicLong();
+
+    private SessionPrewarmer() {}
+
+    /**
+     * Returns the single shared SessionPrewarmer instance.
+     */
+    public static SessionPrewarmer getInstance() {
+        return prewarmer;
+    }
+
+    /**
+     * Returns true if pre-warming is switched on via "session.prewarm.enabled".
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("session.prewarm.enabled"));
+    }
+
+    /**
+     * Hands over a pre-built session and schedules the next one.
+     *
+     * @param browserName — chromium / firefox / webkit
+     * @param isHeadless  — headless flag the session must have been launched with
+     * @return            — a ready session, or null if none was queued (caller builds cold)
+     */
+    public BrowserSession take(String browserName, boolean isHeadless) {
+        Future<BrowserSession> next = queueFor(browserName, isHeadless).poll();
+
+        // Always keep one session in the pipeline for this worker's next scenario
+        schedule(browserName, isHeadless);
+
+        if (next == null) {
+            coldStarts.incrementAndGet();
+            return null;
+        }
+
+        boolean ready = next.isDone();
+        try {
+            BrowserSession session = next.get();
+            (ready ? warmHits : warmWaits).incrementAndGet();
+            logger.debug("Pre-warmed session handed over ({}).", ready ? "ready" : "waited for build");
+            return session;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("Pre-warmed session failed to build — starting cold: {}", e.getCause().getMessage());
+        }
+        coldStarts.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Queues the first session of every worker, so even the first scenario starts warm.
+     * Called once from DriverFactory.startSuite() (the runner's @BeforeSuite).
+     * Does nothing unless pre-warming is on — and not with a browser pool, whose
+     * sessions are never taken from the pre-warm queue (see DriverFactory.initPlaywright).
+     *
+     * @param engines    — Engines this run uses (the browser, or every matrix engine)
+     * @param isHeadless — Headless flag for the sessions
+     */
+    void primeSuite(List<String> engines, boolean isHeadless) {
+        if (!isEnabled() || BrowserPool.isEnabled()) return;
+        int workers = WorkerAutoSizer.threadCount();
+        for (String engine : engines) {
+            // Matrix mode → one session per scenario the lane runs at once
+            int count = BrowserLanes.isMatrixEnabled() ? BrowserLanes.concurrency(engine) : workers;
+            prime(engine, isHeadless, count);
+        }
+        logger.debug("Pre-warm queue primed for {}", engines);
+    }
+
+    /**
+     * Queues a number of sessions to be built in the background.
+     *
+     * @param count — How many sessions to build
+     */
+    public void prime(String browserName, boolean isHeadless, int count) {
+        for (int i = 0; i < count; i++) {
+            schedule(browserName, isHeadless);
+        }
+    }
+
+    /**
+     * Submits one session build to the helper threads.
+     */
+    private void schedule(String browserName, boolean isHeadless) {
+        Future<BrowserSession> future = executor().submit(
+                () -> DriverFactory.openSession(browserName, isHeadless));
+        queueFor(browserName, isHeadless).offer(future);
+    }
+
+    private BlockingQueue<Future<BrowserSession>> queueFor(String browserName, boolean isHeadless) {
+        String key = browserName.trim().toLowerCase() + ":" + isHeadless;
+        return queues.computeIfAbsent(key, k -> new LinkedBlockingQueue<>());
+    }
+
+    /**
+     * Lazily creates the helper thread pool.
+     * Threads are daemons so a forgotten shutdown() can never keep the JVM alive.
+     */
+    private ExecutorService executor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    int threads = Integer.parseInt(ConfigLoader.getInstance().getOptionalProp("session.prewarm.threads"));
+                    AtomicInteger counter = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+                        Thread thread = new Thread(runnable, "session-prewarm-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    public long getWarmHits() {
+        return warmHits.get();
+    }
+
+    public long getWarmWaits() {
+        return warmWaits.get();
+    }
+
+    public long getColdStarts() {
+        return coldStarts.get();
+    }
+
+    /**
+     * Stops the helper threads and closes every session that was built but never used.
+     * Called once from the runner's @AfterSuite, after all scenarios have finished.
+     */
+    public void shutdown() {
+        if (executor == null) return;
+
+        logger.info("Session pre-warm metrics — warm hits: {}, warm waits: {}, cold starts: {}",
+                warmHits.get(), warmWaits.get(), coldStarts.get());
+
+        executor.shutdown();
+        try {
+            // Let in-flight builds finish so their browsers can be closed properly
+            executor.awaitTermination(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (BlockingQueue<Future<BrowserSession>> queue : queues.values()) {
+            Future<BrowserSession> future;
+            while ((future = queue.poll()) != null) {
+                try {
+                    if (future.isDone()) future.get().close();
+                } catch (Exception e) {
+                    logger.debug("Unused pre-warmed session could not be closed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
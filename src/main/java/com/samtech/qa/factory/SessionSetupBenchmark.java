@@ -0,0 +1,100 @@
+package com.samtech.qa.factory;
+
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SessionSetupBenchmark — Measures how long each scenario waits for its browser session.
+ *
+ * DriverFactory.initPlaywright() records the setup time of every scenario under the
+ * mode that produced its session:
+ *   new-browser     → Playwright + browser launch + context + page (no pooling)
+ *   new-context     → pooled browser, fresh context + page
+ *   reused-context  → pooled browser, re-used context (time includes the reset after
+ *                     the previous scenario, see ContextReuse)
+ *   prewarmed       → session taken from the pre-warm queue (see SessionPrewarmer)
+ *
+ * At the end of the run the numbers per mode (count, min, avg, p50, p95, max) are logged
+ * and written to a timestamped JSON file, so the modes can be compared run against run:
+ *   test-output/sessionSetupBenchmark_{ddMMyyyy_HHmmss}.json
+ *
+ * Thread Safety:
+ *   Samples are kept in one synchronized list per mode — parallel workers
+ *   record their setup times without interfering with each other.
+ */
+public class SessionSetupBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionSetupBenchmark.class);
+
+    // ── Setup times (ms) per mode, in the order modes were first seen ──
+    private static final Map<String, List<Long>> samples = new ConcurrentHashMap<>();
+
+    /**
+     * Records one scenario's session setup time.
+     *
+     * @param mode — new-browser / new-context / reused-context / prewarmed
+     * @param ms   — Time from initPlaywright() start until the page was ready
+     */
+    static void record(String mode, long ms) {
+        samples.computeIfAbsent(mode, m -> Collections.synchronizedList(new ArrayList<>())).add(ms);
+    }
+
+    /**
+     * Logs the per-mode summary and writes it to the benchmark JSON file.
+     * Does nothing if no sessions were recorded during the run.
+     */
+    static void generateReport() {
+        if (samples.isEmpty()) return;
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : new TreeMap<>(samples).entrySet()) {
+            List<Long> times;
+            synchronized (entry.getValue()) {
+                times = new ArrayList<>(entry.getValue());
+            }
+            Collections.sort(times);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("mode", entry.getKey());
+            row.put("scenarios", times.size());
+            row.put("min_ms", times.get(0));
+            row.put("avg_ms", Math.round(times.stream().mapToLong(Long::longValue).average().orElse(0)));
+            row.put("p50_ms", percentile(times, 50));
+            row.put("p95_ms", percentile(times, 95));
+            row.put("max_ms", times.get(times.size() - 1));
+            report.add(row);
+            logger.info("Session setup [{}] — scenarios: {}, avg: {} ms, p50: {} ms, p95: {} ms",
+                    entry.getKey(), times.size(), row.get("avg_ms"), row.get("p50_ms"), row.get("p95_ms"));
+        }
+
+        DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
+        printer.indentArraysWith(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
+        try {
+            File outputDir = new File("test-output");
+            if (!outputDir.exists()) outputDir.mkdirs();
+
+            String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("ddMMyyyy_HHmmss"));
+            String fileName = "sessionSetupBenchmark_" + date + ".json";
+            new ObjectMapper().writer(printer).writeValue(new File(outputDir, fileName), report);
+            logger.debug("--- Session Setup Benchmark Generated: test-output/" + fileName + " ---");
+        } catch (IOException e) {
+            logger.error("Jackson failed to write the Session Setup Benchmark: {}", e.getMessage());
+        }
+    }
+
+    // Nearest-rank percentile of an already sorted list
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
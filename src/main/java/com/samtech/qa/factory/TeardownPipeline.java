@@ -0,0 +1,151 @@
+package com.samtech.qa.factory;
+
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TeardownPipeline — Closes finished browser sessions in the background.
+ *
+ * Closing a session (context → browser → Playwright engine) takes real time, and
+ * Playwright only finishes writing the video once the context is closed. Done on the
+ * scenario thread, the worker can't start its next scenario until all of that is over.
+ * With the pipeline switched on, a finished session is handed to a small background
+ * executor and the worker is free immediately.
+ *
+ * What runs in the background (per session):
+ *   1. Close context — finalises the video, discards a trace that was never saved
+ *   2. Close browser and Playwright engine
+ *   3. Delete the video of a passed scenario (failed scenarios attach theirs first,
+ *      synchronously, because the Allure report entry is still open at that point)
+ *
+ * Back-pressure:
+ *   At most teardown.async.max.pending sessions may be waiting/closing at once. When
+ *   the limit is reached, the next handoff blocks until a slot frees up — so a slow
+ *   machine never piles up dozens of half-closed browsers.
+ *
+ * Only sessions that own their Playwright engine are handed off (a freshly launched or
+ * pre-warmed session). Pooled browsers and re-used contexts are shared with the
+ * worker's next scenario and Playwright objects are not thread-safe — those are
+ * still closed/reset on the worker thread as before.
+ *
+ * Config (config file or CLI):
+ *   teardown.async.enabled=true      → turn the pipeline on (default: false)
+ *   teardown.async.threads=2         → background threads closing sessions
+ *   teardown.async.max.pending=4     → max sessions in the pipeline before handoff blocks
+ */
+public class TeardownPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeardownPipeline.class);
+
+    // ── Singleton — one pipeline shared by all worker threads ──
+    private static final TeardownPipeline pipeline = new TeardownPipeline();
+
+    // Background closer threads — created on first handoff
+    private volatile ExecutorService executor;
+
+    // One permit per session allowed in the pipeline (back-pressure)
+    private volatile Semaphore pending;
+
+    private final AtomicLong handedOff = new AtomicLong();
+    private final AtomicLong blockedHandoffs = new AtomicLong();
+    private final AtomicLong totalCloseMs = new AtomicLong();
+
+    private TeardownPipeline() {}
+
+    /**
+     * Returns the single shared TeardownPipeline instance.
+     */
+    public static TeardownPipeline getInstance() {
+        return pipeline;
+    }
+
+    /**
+     * Returns true if async teardown is switched on via "teardown.async.enabled".
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("teardown.async.enabled"));
+    }
+
+    /**
+     * Hands a finished session to the background closers.
+     * Returns as soon as the session is queued — blocks only while the pipeline is full.
+     *
+     * @param session     — The session to close; the caller must not touch it afterwards
+     * @param videoToDrop — Video file to delete once the context is closed, or null to keep it
+     */
+    public void submit(BrowserSession session, Path videoToDrop) {
+        init();
+
+        // ── Back-pressure: wait for a free slot if too many teardowns are pending ──
+        if (!pending.tryAcquire()) {
+            blockedHandoffs.incrementAndGet();
+            logger.debug("Teardown pipeline full — waiting for a pending teardown to finish.");
+            pending.acquireUninterruptibly();
+        }
+        handedOff.incrementAndGet();
+
+        executor.execute(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                session.close();
+                if (videoToDrop != null) Files.deleteIfExists(videoToDrop);
+            } catch (Exception e) {
+                logger.debug("Background teardown failed: {}", e.getMessage());
+            } finally {
+                totalCloseMs.addAndGet(System.currentTimeMillis() - start);
+                pending.release();
+            }
+        });
+    }
+
+    // Lazily creates the executor + permit pool from config on first use
+    private void init() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    ConfigLoader config = ConfigLoader.getInstance();
+                    int threads = Math.max(1, Integer.parseInt(config.getOptionalProp("teardown.async.threads")));
+                    int maxPending = Math.max(1, Integer.parseInt(config.getOptionalProp("teardown.async.max.pending")));
+                    pending = new Semaphore(maxPending);
+                    AtomicInteger counter = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "teardown-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for every pending teardown to finish and stops the background threads.
+     * Called once at suite end — before the browser servers are stopped, so no
+     * background close is cut off half-way.
+     */
+    public void drain() {
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(120, TimeUnit.SECONDS)) {
+                logger.warn("Teardown pipeline did not drain within 120s — some browsers may still be closing.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long sessions = handedOff.get();
+        logger.info("Teardown pipeline — sessions closed in background: {}, avg close time: {} ms, handoffs that waited for a slot: {}",
+                sessions, sessions == 0 ? 0 : totalCloseMs.get() / sessions, blockedHandoffs.get());
+        executor = null;
+    }
+}
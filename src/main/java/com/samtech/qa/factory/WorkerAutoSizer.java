@@ -0,0 +1,181 @@
+package com.samtech.qa.factory;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.samtech.qa.utils.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * WorkerAutoSizer — Picks the parallel thread count for the host the suite runs on.
+ *
+ * "dataproviderthreadcount" is normally a fixed number, so someone has to guess it for
+ * every CI machine — too low wastes the box, too high and browsers start swapping and
+ * tests time out. With dataproviderthreadcount=auto the count is worked out at suite start:
+ *
+ *   1. Cores          → Runtime.availableProcessors() — at most one browser per core
+ *   2. Free memory    → MemAvailable from /proc/meminfo (Linux), otherwise the JVM's
+ *                       view of free physical memory; minus a reserve for JVM + OS
+ *   3. Browser size   → one calibration launch per configured engine: the resident memory
+ *                       (RSS) of all browser processes with the app's entry page open.
+ *                       The largest engine is used. If RSS can't be read (non-Linux,
+ *                       or browser server mode), a configured estimate is used instead.
+ *
+ *   threads = min(cores, (free memory − reserve) / browser size, workers.auto.max), at least 1
+ *
+ * The decision and its reasoning are logged and written to the Allure environment panel.
+ *
+ * Config (config file or CLI):
+ *   dataproviderthreadcount=auto         → turn auto-sizing on (a number keeps it fixed)
+ *   workers.auto.memory.reserve.mb=1024  → memory kept free for the JVM and OS
+ *   workers.auto.browser.mb=400          → browser size to assume when RSS can't be measured
+ *   workers.auto.max=16                  → upper limit, whatever the host allows
+ *
+ * NOTE: Per-process RSS counts shared pages once per process, so a multi-process
+ * browser is slightly over-estimated — the count errs on the safe side.
+ */
+public class WorkerAutoSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerAutoSizer.class);
+
+    // ── Decision — computed once per JVM, on first use ──
+    private static Integer threadCount;
+    private static String reasoning;
+
+    /**
+     * Returns true if the thread count is set to "auto".
+     */
+    public static boolean isAuto() {
+        String value = ConfigLoader.getInstance().getOptionalProp("dataproviderthreadcount");
+        return value != null && value.trim().equalsIgnoreCase("auto");
+    }
+
+    /**
+     * Returns the parallel thread count for this run — the configured number, or the
+     * auto-sized one when dataproviderthreadcount=auto (measured once, then cached).
+     */
+    public static synchronized int threadCount() {
+        if (!isAuto()) {
+            return Integer.parseInt(ConfigLoader.getInstance().getOptionalProp("dataproviderthreadcount").trim());
+        }
+        if (threadCount == null) {
+            decide();
+        }
+        return threadCount;
+    }
+
+    /**
+     * Returns a one-line explanation of the auto-sized count, or null if it wasn't auto-sized.
+     */
+    public static synchronized String getReasoning() {
+        return reasoning;
+    }
+
+    private static void decide() {
+        ConfigLoader config = ConfigLoader.getInstance();
+        long reserveMb = Long.parseLong(config.getOptionalProp("workers.auto.memory.reserve.mb").trim());
+        int max = Integer.parseInt(config.getOptionalProp("workers.auto.max").trim());
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        long freeMb = freeMemoryMb();
+
+        // ── Calibration — measure the largest browser footprint among the configured engines ──
+        long browserMb = 0;
+        boolean measured = true;
+        for (String engine : DriverFactory.configuredEngines()) {
+            long engineMb = measureBrowserMb(engine);
+            if (engineMb <= 0) {
+                measured = false;
+                engineMb = Long.parseLong(config.getOptionalProp("workers.auto.browser.mb").trim());
+            }
+            browserMb = Math.max(browserMb, engineMb);
+        }
+
+        long byMemory = Math.max(0, freeMb - reserveMb) / Math.max(1, browserMb);
+        threadCount = (int) Math.max(1, Math.min(Math.min(cores, byMemory), max));
+        reasoning = String.format("auto: %d cores, %d MB free (%d MB reserved), ~%d MB per browser (%s) "
+                        + "→ memory allows %d, CPU allows %d, max %d → %d threads",
+                cores, freeMb, reserveMb, browserMb, measured ? "measured" : "estimated",
+                byMemory, cores, max, threadCount);
+        logger.info("Worker count {}", reasoning);
+    }
+
+    /**
+     * Launches one browser, opens the entry page and returns the resident memory (MB)
+     * of the browser processes it started. Returns 0 if it can't be measured.
+     */
+    private static long measureBrowserMb(String engine) {
+        // Server mode — browsers live in the shared server, not in this JVM's process tree
+        if (BrowserServers.isEnabled()) return 0;
+
+        boolean isHeadless = Boolean.parseBoolean(System.getProperty("headless", ConfigLoader.getInstance().getOptionalProp("headless")));
+        try (Playwright playwright = Playwright.create()) {
+            // Baseline = the Playwright driver process on its own
+            long baselineKb = descendantRssKb();
+            if (baselineKb < 0) return 0;
+
+            Browser browser = DriverFactory.launchBrowser(playwright, engine, isHeadless);
+            try {
+                Page page = browser.newPage();
+                try {
+                    page.navigate(ConfigLoader.getInstance().getMandatoryProp("url"));
+                } catch (Exception e) {
+                    logger.debug("Calibration page load failed, measuring a blank page: {}", e.getMessage());
+                }
+                long withBrowserKb = descendantRssKb();
+                return Math.max(0, withBrowserKb - baselineKb) / 1024;
+            } finally {
+                browser.close();
+            }
+        } catch (Exception e) {
+            logger.debug("Browser calibration for \"{}\" failed: {}", engine, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Sums VmRSS of every process started by this JVM (driver + browsers).
+     * Returns -1 where /proc is not available.
+     */
+    private static long descendantRssKb() {
+        if (!Files.isDirectory(Paths.get("/proc/self"))) return -1;
+        return ProcessHandle.current().descendants()
+                .mapToLong(process -> readKb(Paths.get("/proc", String.valueOf(process.pid()), "status"), "VmRSS:"))
+                .filter(kb -> kb > 0)
+                .sum();
+    }
+
+    // Free memory the OS can hand out — MemAvailable on Linux, the JVM's view elsewhere
+    private static long freeMemoryMb() {
+        long availableKb = readKb(Paths.get("/proc/meminfo"), "MemAvailable:");
+        if (availableKb > 0) return availableKb / 1024;
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreeMemorySize() / (1024 * 1024);
+        }
+        return Runtime.getRuntime().maxMemory() / (1024 * 1024);
+    }
+
+    // Reads a "Key:   1234 kB" line from a /proc file — returns -1 if not found
+    private static long readKb(Path file, String key) {
+        try {
+            List<String> lines = Files.readAllLines(file);
+            for (String line : lines) {
+                if (line.startsWith(key)) {
+                    return Long.parseLong(line.substring(key.length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Process may have exited between listing and reading — just skip it
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,249 @@
+package com.samtech.qa.utils;
+
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ActionLatencyRecorder — Measures how long every ElementUtils action takes.
+ *
+ * Each ElementUtils action (clickElement, enterText, getElementText, isElementVisible,
+ * waitForPageURL, waitForPageStable) records its wall-clock time under a key of
+ *   action | winning selector     (e.g. "clickElement | //button[contains(.,'Login')]")
+ * Actions that found nothing are recorded under "(not found)", URL waits under the URL part.
+ * So the report answers "which waits eat our time" — including the fallback cost hidden
+ * inside an action whose primary selector is broken.
+ *
+ * How it works:
+ *   - Every worker thread records into its OWN histograms (no locks, no shared counters)
+ *   - Histograms use log buckets: exact below 32ms, then 16 buckets per power of two
+ *     (about 6% precision) — a few hundred longs per key, however many samples
+ *   - Next to each histogram the exact total and max are kept, so those two columns are
+ *     real values — only the percentiles come from the (approximate) buckets
+ *   - At suite end all threads' histograms are merged into one table per key with
+ *     count, total, p50, p95, p99 and max — sorted by total time, biggest first
+ *   - The table is written next to the failed-locator report:
+ *       test-output/actionLatency_{ddMMyyyy_HHmmss}.json
+ *     and attached to Allure on a separate "Action Latency (suite)" result (suite "Run metrics")
+ *     — the Cucumber adapter has no suite-level result to attach it to otherwise
+ *   - Each scenario also gets an "Action Latency" attachment in Allure with its own actions
+ *
+ * Config (config file or CLI):
+ *   action.latency.enabled=true → record latencies (default: false)
+ *
+ * Thread Safety:
+ *   A thread's histograms are only written by that thread. They are read once, at suite
+ *   end, after the worker threads have finished (TestNG joins them before @AfterSuite).
+ */
+public class ActionLatencyRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLatencyRecorder.class);
+
+    // Bucket layout: 0..31 exact, then 16 sub-buckets per power of two up to 2^62
+    private static final int SUB_BUCKETS = 16;
+    private static final int BUCKETS = 32 + (63 - 5) * SUB_BUCKETS;
+
+    // ── Every thread's recorder, kept for the merge at suite end ──
+    private static final Queue<ThreadRecorder> allRecorders = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<ThreadRecorder> recorder = ThreadLocal.withInitial(() -> {
+        ThreadRecorder created = new ThreadRecorder();
+        allRecorders.add(created);
+        return created;
+    });
+
+    // One worker thread's histograms + exact {total, max} (whole run) and raw samples (current scenario)
+    private static class ThreadRecorder {
+        final Map<String, long[]> histograms = new HashMap<>();
+        final Map<String, long[]> exact = new HashMap<>();
+        final Map<String, List<Long>> scenario = new LinkedHashMap<>();
+    }
+
+    /**
+     * Returns true if latency recording is switched on via "action.latency.enabled".
+     */
+    public static boolean isEnabled() {
+        return ConfigLoader.getInstance().getSnapshot().actionLatency;
+    }
+
+    /**
+     * Records one action's latency for the current thread.
+     *
+     * @param action     — ElementUtils method name, e.g. "clickElement"
+     * @param selector   — The selector that won, or null if none did
+     * @param startNanos — System.nanoTime() taken when the action started
+     */
+    static void record(String action, String selector, long startNanos) {
+        if (!isEnabled()) return;
+        long ms = (System.nanoTime() - startNanos) / 1_000_000;
+        String key = action + " | " + (selector == null ? "(not found)" : selector);
+
+        ThreadRecorder current = recorder.get();
+        current.histograms.computeIfAbsent(key, k -> new long[BUCKETS])[bucket(ms)]++;
+        long[] totalAndMax = current.exact.computeIfAbsent(key, k -> new long[2]);
+        totalAndMax[0] += ms;
+        totalAndMax[1] = Math.max(totalAndMax[1], ms);
+        current.scenario.computeIfAbsent(key, k -> new ArrayList<>()).add(ms);
+    }
+
+    /**
+     * Clears the current thread's per-scenario samples.
+     * Called at the start of each scenario (in hooks).
+     */
+    public static void startScenario() {
+        if (isEnabled()) recorder.get().scenario.clear();
+    }
+
+    /**
+     * Returns this thread's actions of the current scenario as a JSON table
+     * (count, total, max per key), or null if nothing was recorded.
+     * Used by the hooks to attach the table to the scenario in Allure.
+     */
+    public static String scenarioTableJson() {
+        if (!isEnabled()) return null;
+        Map<String, List<Long>> scenario = recorder.get().scenario;
+        if (scenario.isEmpty()) return null;
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        scenario.forEach((key, times) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("action", key);
+            row.put("count", times.size());
+            row.put("total_ms", times.stream().mapToLong(Long::longValue).sum());
+            row.put("max_ms", Collections.max(times));
+            rows.add(row);
+        });
+        rows.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("total_ms")).reversed());
+        try {
+            return new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(rows);
+        } catch (IOException e) {
+            logger.debug("Could not build the scenario latency table: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Merges every thread's histograms, writes the p50/p95/p99 table and attaches it to Allure.
+     * Called once from the runner's @AfterSuite. Does nothing if nothing was recorded.
+     */
+    public static void generateReport() {
+        Map<String, long[]> merged = new HashMap<>();
+        Map<String, long[]> mergedExact = new HashMap<>();
+        for (ThreadRecorder threadRecorder : allRecorders) {
+            threadRecorder.histograms.forEach((key, counts) -> {
+                long[] total = merged.computeIfAbsent(key, k -> new long[BUCKETS]);
+                for (int i = 0; i < BUCKETS; i++) total[i] += counts[i];
+            });
+            threadRecorder.exact.forEach((key, totalAndMax) -> {
+                long[] total = mergedExact.computeIfAbsent(key, k -> new long[2]);
+                total[0] += totalAndMax[0];
+                total[1] = Math.max(total[1], totalAndMax[1]);
+            });
+        }
+        if (merged.isEmpty()) return;
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        merged.forEach((key, counts) -> {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) count += counts[i];
+            long[] totalAndMax = mergedExact.get(key);
+            int split = key.indexOf(" | ");
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("action", key.substring(0, split));
+            row.put("selector", key.substring(split + 3));
+            row.put("count", count);
+            row.put("total_ms", totalAndMax[0]);
+            // Percentiles are bucket midpoints — never report one above the real max
+            row.put("p50_ms", Math.min(percentile(counts, count, 50), totalAndMax[1]));
+            row.put("p95_ms", Math.min(percentile(counts, count, 95), totalAndMax[1]));
+            row.put("p99_ms", Math.min(percentile(counts, count, 99), totalAndMax[1]));
+            row.put("max_ms", totalAndMax[1]);
+            report.add(row);
+        });
+        report.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("total_ms")).reversed());
+
+        DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
+        printer.indentArraysWith(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
+        try {
+            File outputDir = new File("test-output");
+            if (!outputDir.exists()) outputDir.mkdirs();
+
+            String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("ddMMyyyy_HHmmss"));
+            String fileName = "actionLatency_" + date + ".json";
+            byte[] json = new ObjectMapper().writer(printer).writeValueAsBytes(report);
+            Files.write(new File(outputDir, fileName).toPath(), json);
+            logger.debug("--- Action Latency Report Generated: test-output/" + fileName + " ---");
+            attachSuiteTable(json);
+        } catch (IOException e) {
+            logger.error("Jackson failed to write the Action Latency Report: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Attaches the suite table to Allure. Scenario results are already written by then, and
+     * the Cucumber adapter has no suite-level result — so a small result of its own is
+     * written for it, grouped under the "Run metrics" suite (fixed historyId → one entry per run).
+     */
+    private static void attachSuiteTable(byte[] json) {
+        try {
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            String uuid = UUID.randomUUID().toString();
+            lifecycle.scheduleTestCase(new TestResult()
+                    .setUuid(uuid)
+                    .setName("Action Latency (suite)")
+                    .setFullName("Run metrics: Action Latency (suite)")
+                    .setHistoryId("run-metrics-action-latency")
+                    .setStatus(Status.PASSED)
+                    .setLabels(List.of(new Label().setName("suite").setValue("Run metrics"))));
+            lifecycle.startTestCase(uuid);
+            lifecycle.addAttachment("Action Latency (suite)", "application/json", ".json", json);
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        } catch (RuntimeException e) {
+            logger.debug("Could not attach the suite latency table to Allure: {}", e.getMessage());
+        }
+    }
+
+    // Bucket index of a value (ms)
+    private static int bucket(long ms) {
+        if (ms < 32) return (int) Math.max(0, ms);
+        int exponent = 63 - Long.numberOfLeadingZeros(ms);              // 5 and up
+        int sub = (int) (ms >> (exponent - 4)) & (SUB_BUCKETS - 1);     // next 4 bits
+        return 32 + (exponent - 5) * SUB_BUCKETS + sub;
+    }
+
+    // Representative value (ms) of a bucket — the middle of its range
+    private static long value(int bucket) {
+        if (bucket < 32) return bucket;
+        int exponent = (bucket - 32) / SUB_BUCKETS + 5;
+        int sub = (bucket - 32) % SUB_BUCKETS;
+        long width = 1L << (exponent - 4);
+        return (SUB_BUCKETS + sub) * width + width / 2;
+    }
+
+    // Nearest-rank percentile over a histogram
+    private static long percentile(long[] counts, long total, int percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return value(i);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,171 @@
+package com.samtech.qa.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AdaptiveTimeouts — Learns how long each selector normally takes to show up.
+ *
+ * Every fallback attempt in ElementUtils gets the same budget (timeout.global.wait / 3),
+ * whether the element normally appears in 50ms or in 4s. So a selector that is simply
+ * missing always burns the whole budget before the next fallback is tried. In adaptive
+ * mode each selector gets its own budget instead:
+ *
+ *   1. Every successful wait records its time-to-ready for that selector
+ *      (rolling window of the last timeout.adaptive.window samples)
+ *   2. budget = p99 of the window × timeout.adaptive.multiplier,
+ *      clamped to [timeout.adaptive.floor.ms, timeout.adaptive.ceiling.ms]
+ *   3. Until a selector has timeout.adaptive.min.samples samples, the normal budget is used
+ *   4. The windows are saved to test-output/adaptiveTimeouts.json at suite end and
+ *      loaded at the start of the next run — so the fast failure starts on scenario one
+ *
+ * Config (config file or CLI):
+ *   timeout.adaptive.enabled=true        → use learned budgets (default: false)
+ *   timeout.adaptive.multiplier=3        → headroom over the observed p99
+ *   timeout.adaptive.floor.ms=500        → never wait less than this
+ *   timeout.adaptive.ceiling.ms=0        → never wait more than this (0 = the normal budget)
+ *   timeout.adaptive.min.samples=5       → samples needed before a budget is learned
+ *   timeout.adaptive.window=100          → samples kept per selector
+ *
+ * Thread Safety:
+ *   One small window per selector in a ConcurrentHashMap; each window is synchronized
+ *   on its own, so parallel workers only contend when they wait on the same selector.
+ */
+public class AdaptiveTimeouts {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveTimeouts.class);
+
+    // File the learned samples are kept in between runs
+    private static final File STATS_FILE = new File("test-output/adaptiveTimeouts.json");
+
+    // ── Rolling time-to-ready samples (ms) per selector ──
+    private static final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    static {
+        load();
+    }
+
+    // Fixed-size ring of samples with a cached p99
+    private static class Window {
+        private final long[] samples;
+        private int size;
+        private int next;
+        private long p99 = -1;  // -1 = recompute on next read
+
+        Window(int capacity) {
+            samples = new long[Math.max(1, capacity)];
+        }
+
+        synchronized void add(long ms) {
+            samples[next] = ms;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+            p99 = -1;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long p99() {
+            if (p99 < 0) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                p99 = sorted[Math.max(0, (int) Math.ceil(0.99 * size) - 1)];
+            }
+            return p99;
+        }
+
+        synchronized List<Long> snapshot() {
+            List<Long> copy = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) copy.add(samples[(next - size + i + samples.length) % samples.length]);
+            return copy;
+        }
+    }
+
+    /**
+     * Returns true if adaptive timeouts are switched on via "timeout.adaptive.enabled".
+     */
+    public static boolean isEnabled() {
+        return ConfigLoader.getInstance().getSnapshot().adaptiveTimeouts;
+    }
+
+    /**
+     * Returns the wait budget for one attempt with this selector.
+     *
+     * @param selector      — The selector about to be waited on
+     * @param defaultBudget — The budget that applies without adaptive mode (ms)
+     * @return              — The learned budget, or defaultBudget if off / not learned yet
+     */
+    static double timeoutFor(String selector, double defaultBudget) {
+        if (!isEnabled()) return defaultBudget;
+        Window window = windows.get(selector);
+        ConfigSnapshot config = ConfigLoader.getInstance().getSnapshot();
+        if (window == null || window.size() < config.adaptiveMinSamples) {
+            return defaultBudget;
+        }
+
+        double floor = config.adaptiveFloorMs;
+        double ceiling = config.adaptiveCeilingMs;
+        if (ceiling <= 0) ceiling = defaultBudget;
+        double budget = window.p99() * config.adaptiveMultiplier;
+        return Math.max(floor, Math.min(budget, ceiling));
+    }
+
+    /**
+     * Records how long a selector took to become ready.
+     *
+     * @param selector — The selector that was waited on
+     * @param ms       — Time from the start of the wait until the element was ready
+     */
+    static void record(String selector, long ms) {
+        if (!isEnabled()) return;
+        windows.computeIfAbsent(selector, s -> new Window(windowSize())).add(ms);
+    }
+
+    /**
+     * Writes the learned samples to test-output/adaptiveTimeouts.json.
+     * Called once from the runner's @AfterSuite. Does nothing if adaptive mode is off.
+     */
+    public static void save() {
+        if (!isEnabled() || windows.isEmpty()) return;
+
+        Map<String, List<Long>> snapshot = new TreeMap<>();
+        windows.forEach((selector, window) -> snapshot.put(selector, window.snapshot()));
+        try {
+            STATS_FILE.getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(STATS_FILE, snapshot);
+            logger.debug("--- Adaptive timeouts saved: {} ({} selectors) ---", STATS_FILE, snapshot.size());
+        } catch (IOException e) {
+            logger.error("Jackson failed to write the adaptive timeouts: {}", e.getMessage());
+        }
+    }
+
+    // Seeds the windows from the previous run's file, if there is one
+    private static void load() {
+        if (!STATS_FILE.exists()) return;
+        try {
+            Map<String, List<Long>> saved = new ObjectMapper()
+                    .readValue(STATS_FILE, new TypeReference<Map<String, List<Long>>>() {});
+            int size = windowSize();
+            saved.forEach((selector, samples) -> {
+                Window window = windows.computeIfAbsent(selector, s -> new Window(size));
+                samples.forEach(window::add);
+            });
+            logger.debug("Adaptive timeouts loaded for {} selectors.", saved.size());
+        } catch (IOException e) {
+            logger.warn("Could not read adaptive timeouts, starting fresh: {}", e.getMessage());
+        }
+    }
+
+    private static int windowSize() {
+        return ConfigLoader.getInstance().getSnapshot().adaptiveWindow;
+    }
+}
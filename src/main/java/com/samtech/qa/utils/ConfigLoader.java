@@ -25,6 +25,10 @@ import java.util.Properties;
  *   1. Maven CLI flag: -Denv=qa
  *   2. "env" key in config.properties
  *   3. RuntimeException if neither is set
+ *
+ * Hot-path settings (timeouts, locator and wait options read on every UI action) are
+ * also resolved once, typed and validated, into a ConfigSnapshot — read them with
+ * getSnapshot().globalWaitMs etc. instead of parsing getOptionalProp() on every call.
  */
 public class ConfigLoader {
 
@@ -39,6 +43,9 @@ public class ConfigLoader {
     // Stores the resolved environment name (e.g. "qa", "staging") for reference
     private String environment;
 
+    // Typed, validated hot-path settings — built once, after both config files are loaded
+    private final ConfigSnapshot snapshot;
+
     /**
      * Returns the single shared ConfigLoader instance.
      * Safe to call from anywhere — always returns the same object.
@@ -90,6 +97,9 @@ public class ConfigLoader {
             // Fail fast — if config can't be loaded, nothing else can work
             throw new RuntimeException("Failed to load config file for env: " + env);
         }
+
+        // ── Step 4: Parse the hot-path settings once (throws on invalid values) ──
+        snapshot = new ConfigSnapshot(this::resolve);
     }
 
     /**
@@ -151,6 +161,14 @@ public class ConfigLoader {
         return getDefault(key);
     }
 
+    /**
+     * Returns the typed settings resolved at startup (see ConfigSnapshot).
+     * Reading a field is a plain field read — no lookup, no lock, no parsing.
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Returns the active environment name (e.g. "qa", "staging").
      * Useful when test code needs to know which environment it's running against.
@@ -196,8 +214,93 @@ public class ConfigLoader {
             case "timeout.default.assertion":
                 return "5000";                  // 5 seconds max for an assertion to pass
 
+            case "timeout.adaptive.enabled":
+                return "false";                 // Same wait budget for every selector unless learning is switched on
+            case "timeout.adaptive.multiplier":
+                return "3";                     // Learned budget = observed p99 × 3
+            case "timeout.adaptive.floor.ms":
+                return "500";                   // Learned budget never below 0.5 seconds
+            case "timeout.adaptive.ceiling.ms":
+                return "0";                     // 0 = learned budget never above the normal budget
+            case "timeout.adaptive.min.samples":
+                return "5";                     // Samples needed before a selector gets its own budget
+            case "timeout.adaptive.window":
+                return "100";                   // Rolling samples kept per selector
+
+            case "locator.resolution.mode":
+                return "sequential";            // Try fallback selectors one by one ("race" = wait on all at once)
+
+            case "page.stable.quiet.ms":
+                return "300";                   // DOM + network must be quiet this long for waitForPageStable()
+            case "page.stable.max.ms":
+                return "10000";                 // waitForPageStable() gives up after 10 seconds
+            case "page.stable.request.ignore.ms":
+                return "5000";                  // Requests pending longer than this (long-polls) don't block stability
+
+            case "action.latency.enabled":
+                return "false";                 // Don't time every ElementUtils action unless switched on
+
+            case "wait.policy.click":
+                return "navigation_if_triggered"; // Wait for page load after a click only if it navigated
+            case "wait.policy.read":
+                return "none";                  // No page-load wait before getText / visibility checks
+
+            case "locator.failures.stream.enabled":
+                return "false";                 // Keep locator failures in memory until the suite-end report
+
+            case "locator.health.store.enabled":
+                return "false";                 // Don't append runs to the cross-run locator history
+            case "locator.health.store.file":
+                return "locator-health/history.jsonl"; // Append-only cross-run locator history (cache it in CI)
+
+            case "selector.ranking.enabled":
+                return "false";                 // Keep page-object selector order unless learned ranking is switched on
+
             case "dataproviderthreadcount":
-                return "2";                     // Default number of parallel threads for data-driven tests
+                return "2";                     // Default number of parallel threads for data-driven tests ("auto" = size for this host)
+            case "workers.auto.memory.reserve.mb":
+                return "1024";                  // Memory kept free for JVM + OS when auto-sizing threads
+            case "workers.auto.browser.mb":
+                return "400";                   // Assumed browser footprint when it can't be measured
+            case "workers.auto.max":
+                return "16";                    // Upper limit for auto-sized thread count
+
+            case "browser.pool.enabled":
+                return "false";                 // Launch a fresh browser per scenario unless pooling is switched on
+            case "browser.pool.size":
+                return "0";                     // 0 = one pooled browser per worker thread, no upper limit
+
+            case "session.prewarm.enabled":
+                return "false";                 // Build sessions on the critical path unless pre-warming is switched on
+            case "session.prewarm.threads":
+                return "2";                     // Helper threads that build the next sessions in the background
+
+            case "auth.state.cache.enabled":
+                return "false";                 // Always log in through the UI unless the auth cache is switched on
+            case "auth.state.ttl.minutes":
+                return "30";                    // How long a cached login snapshot stays valid
+
+            case "session.prenavigate.enabled":
+                return "false";                 // Hand out blank pages unless entry-page pre-navigation is switched on
+
+            case "browser.matrix.concurrency":
+                return "1";                     // Scenarios in flight per browser lane (override per engine with .chromium etc.)
+
+            case "context.reuse.enabled":
+                return "false";                 // New context per scenario unless reuse (with reset) is switched on
+
+            case "teardown.async.enabled":
+                return "false";                 // Close sessions on the scenario thread unless async teardown is switched on
+            case "teardown.async.threads":
+                return "2";                     // Background threads closing finished sessions
+            case "teardown.async.max.pending":
+                return "4";                     // Max sessions waiting to close before the next handoff blocks
+
+            case "playwright.bootstrap.enabled":
+                return "false";                 // No suite-start driver setup / browser warm-up unless switched on
+
+            case "browser.server.enabled":
+                return "false";                 // Each worker launches its own browser unless server mode is switched on
 
             default:
                 return null;                    // No default defined — caller decides how to handle null
@@ -0,0 +1,204 @@
+package com.samtech.qa.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * ConfigSnapshot — The settings read on every UI action, parsed once at startup.
+ *
+ * getOptionalProp() resolves a key on every call — a System.getProperty lookup, then the
+ * synchronized Properties table, then the getDefault() switch — and the caller parses the
+ * String again (Long.parseLong, Boolean.parseBoolean …). For keys that are read per click,
+ * per fill and per wait that adds up, so ConfigLoader resolves them ONCE, when it loads,
+ * into the typed final fields of this class:
+ *
+ *   Before:  Double.parseDouble(ConfigLoader.getInstance().getOptionalProp("timeout.global.wait"))
+ *   After:   ConfigLoader.getInstance().getSnapshot().globalWaitMs
+ *
+ * The values are checked while the snapshot is built — a typo like timeout.global.wait=15s
+ * or action.latency.enabled=ture stops the run at startup with a list of every bad key,
+ * instead of failing (or silently becoming "false") in the middle of a scenario.
+ *
+ * Notes:
+ *   - Same priority as the String API: -D flag → env config → base config → default
+ *   - The snapshot is immutable — a System.setProperty() made after startup is only seen
+ *     by getOptionalProp(), which still resolves live and stays the API for every other key
+ *   - Add a key here only if it is read on a hot path; everything else stays a String lookup
+ */
+public final class ConfigSnapshot {
+
+    // ── Timeouts (ms) ──
+    public final long pageLoadMs;            // timeout.page.load
+    public final long globalWaitMs;          // timeout.global.wait
+    public final long assertionMs;           // timeout.default.assertion
+
+    // ── Screenshots ──
+    public final boolean screenshotOnScenarioFailure;   // screenshot.on.scenario.failure
+    public final boolean screenshotOnScenarioSuccess;   // screenshot.on.scenario.success
+    public final boolean screenshotOnScenarioSkipped;   // screenshot.on.scenario.skipped
+    public final boolean screenshotForStepPassed;       // screenshot.for.step.passed
+    public final boolean screenshotForStepFailed;       // screenshot.for.step.failed
+
+    // ── Locator resolution ──
+    public final boolean raceMode;           // locator.resolution.mode=race
+    public final boolean selectorRanking;    // selector.ranking.enabled
+    public final boolean failureStreaming;   // locator.failures.stream.enabled
+
+    // ── Adaptive timeouts ──
+    public final boolean adaptiveTimeouts;   // timeout.adaptive.enabled
+    public final double adaptiveMultiplier;  // timeout.adaptive.multiplier
+    public final long adaptiveFloorMs;       // timeout.adaptive.floor.ms
+    public final long adaptiveCeilingMs;     // timeout.adaptive.ceiling.ms
+    public final int adaptiveMinSamples;     // timeout.adaptive.min.samples
+    public final int adaptiveWindow;         // timeout.adaptive.window
+
+    // ── Page stability ──
+    public final long pageStableQuietMs;          // page.stable.quiet.ms
+    public final long pageStableMaxMs;            // page.stable.max.ms
+    public final long pageStableRequestIgnoreMs;  // page.stable.request.ignore.ms
+
+    // ── Waits around actions ──
+    public final WaitPolicy clickWaitPolicy; // wait.policy.click
+    public final WaitPolicy readWaitPolicy;  // wait.policy.read
+
+    public final boolean actionLatency;      // action.latency.enabled
+
+    // Problems found while parsing — reported together once every key has been read
+    private final List<String> errors = new ArrayList<>();
+    private final Function<String, String> resolver;
+
+    /**
+     * Resolves and validates every snapshot key.
+     * Called once from the ConfigLoader constructor, with its own resolve().
+     *
+     * @param resolver — Looks a key up with the normal priority (CLI → files → default)
+     * @throws RuntimeException listing every key whose value has the wrong type or range
+     */
+    ConfigSnapshot(Function<String, String> resolver) {
+        this.resolver = resolver;
+
+        pageLoadMs = millis("timeout.page.load");
+        globalWaitMs = millis("timeout.global.wait");
+        assertionMs = millis("timeout.default.assertion");
+
+        screenshotOnScenarioFailure = flag("screenshot.on.scenario.failure");
+        screenshotOnScenarioSuccess = flag("screenshot.on.scenario.success");
+        screenshotOnScenarioSkipped = flag("screenshot.on.scenario.skipped");
+        screenshotForStepPassed = flag("screenshot.for.step.passed");
+        screenshotForStepFailed = flag("screenshot.for.step.failed");
+
+        raceMode = "race".equals(oneOf("locator.resolution.mode", "sequential", "race"));
+        selectorRanking = flag("selector.ranking.enabled");
+        failureStreaming = flag("locator.failures.stream.enabled");
+
+        adaptiveTimeouts = flag("timeout.adaptive.enabled");
+        adaptiveMultiplier = factor("timeout.adaptive.multiplier");
+        adaptiveFloorMs = millis("timeout.adaptive.floor.ms");
+        adaptiveCeilingMs = millis("timeout.adaptive.ceiling.ms");
+        adaptiveMinSamples = count("timeout.adaptive.min.samples", 0);
+        adaptiveWindow = count("timeout.adaptive.window", 1);
+
+        pageStableQuietMs = millis("page.stable.quiet.ms");
+        pageStableMaxMs = millis("page.stable.max.ms");
+        pageStableRequestIgnoreMs = millis("page.stable.request.ignore.ms");
+
+        clickWaitPolicy = waitPolicy("wait.policy.click");
+        readWaitPolicy = waitPolicy("wait.policy.read");
+
+        actionLatency = flag("action.latency.enabled");
+
+        if (!errors.isEmpty()) {
+            throw new RuntimeException("Invalid configuration:\n  - " + String.join("\n  - ", errors));
+        }
+    }
+
+    // ============================================================
+    // Typed parsing — each records an error and returns a placeholder on bad input
+    // ============================================================
+
+    // Trimmed value, or null (+ error) if the key has no value anywhere
+    private String value(String key) {
+        String value = resolver.apply(key);
+        if (value == null) {
+            errors.add(key + " has no value");
+            return null;
+        }
+        return value.trim();
+    }
+
+    // true / false, any case — anything else is an error rather than a silent false
+    private boolean flag(String key) {
+        String value = value(key);
+        if (value == null) return false;
+        if (value.equalsIgnoreCase("true")) return true;
+        if (!value.equalsIgnoreCase("false")) errors.add(key + "=\"" + value + "\" must be true or false");
+        return false;
+    }
+
+    // Duration in ms, 0 or more
+    private long millis(String key) {
+        String value = value(key);
+        if (value == null) return 0;
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed >= 0) return parsed;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        errors.add(key + "=\"" + value + "\" must be a whole number of milliseconds (0 or more)");
+        return 0;
+    }
+
+    // Whole number, at least min
+    private int count(String key, int min) {
+        String value = value(key);
+        if (value == null) return min;
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= min) return parsed;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        errors.add(key + "=\"" + value + "\" must be a whole number of at least " + min);
+        return min;
+    }
+
+    // Positive decimal number
+    private double factor(String key) {
+        String value = value(key);
+        if (value == null) return 1;
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed > 0) return parsed;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        errors.add(key + "=\"" + value + "\" must be a number above 0");
+        return 1;
+    }
+
+    // One of the allowed names, any case — returned in lower case
+    private String oneOf(String key, String... allowed) {
+        String value = value(key);
+        if (value == null) return allowed[0];
+        String name = value.toLowerCase(Locale.ROOT);
+        for (String option : allowed) {
+            if (option.equals(name)) return name;
+        }
+        errors.add(key + "=\"" + value + "\" must be one of " + String.join(", ", allowed));
+        return allowed[0];
+    }
+
+    private WaitPolicy waitPolicy(String key) {
+        String value = value(key);
+        if (value == null) return WaitPolicy.NONE;
+        try {
+            return WaitPolicy.named(key, value);
+        } catch (RuntimeException e) {
+            errors.add(e.getMessage());
+            return WaitPolicy.NONE;
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.samtech.qa.utils;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import com.microsoft.playwright.options.WaitUntilState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * ElementUtils — Reusable helper methods for interacting with web page elements.
  *
@@ -30,6 +35,33 @@ import org.slf4j.LoggerFactory;
  *   The global timeout (timeout.global.wait) is used for full waits.
  *   For fallback attempts, 1/3 of that timeout is used per selector —
  *   so the total wait across 3 selectors equals one full global timeout.
+ *
+ * RACE MODE (locator.resolution.mode=race):
+ *   Instead of trying selectors one after another, all of them are waited on at once
+ *   through one combined locator (Locator.or). As soon as any candidate shows up, the
+ *   highest-priority visible one is used. A broken primary selector then costs nothing
+ *   instead of timeout/3 — the losers that matched nothing are still reported to
+ *   FailedLocatorCollector, so broken selectors keep showing up in the report.
+ *
+ * SELF-HEALING ORDER (selector.ranking.enabled=true):
+ *   Page objects register themselves (see BasePage), so a selector array can be traced
+ *   back to its field — e.g. "LoginPage.usernameField". Selectors are then tried in the
+ *   order learned by SelectorRanking (the fallback that keeps winning goes first).
+ *
+ * ADAPTIVE TIMEOUTS (timeout.adaptive.enabled=true):
+ *   Instead of the fixed timeout/3 per attempt, each selector gets a budget learned from
+ *   how long it normally takes to become ready (see AdaptiveTimeouts).
+ *
+ * LOCATOR GROUPS & CACHE:
+ *   Page objects can declare LocatorGroup fields instead of raw String[] arrays — every
+ *   action has a LocatorGroup overload. Either way, each selector is compiled into a
+ *   Playwright Locator once per page and re-used from a cache after that.
+ *
+ * WAIT POLICIES:
+ *   What to wait for around an action is a WaitPolicy. By default a click waits for the
+ *   page to load only if it actually started a navigation, and reads don't wait at all
+ *   (wait.policy.click / wait.policy.read). Page objects can pass a policy per action:
+ *     clickElement(WaitPolicy.NETWORK_QUIET, saveButton);
  */
 public class ElementUtils {
 
@@ -38,23 +70,249 @@ public class ElementUtils {
     // The Playwright Page object — represents the active browser tab
     private Page page;
 
+    // Page objects using this ElementUtils — used to name selector arrays for SelectorRanking
+    private final List<Object> pageObjects = new ArrayList<>();
+
+    // Selector array → "PageClass.field" (identity-based: each page object owns its arrays)
+    // Holds page-object fields only — inline selector arrays are never added
+    private final Map<String[], String> locatorKeys = new IdentityHashMap<>();
+
+    // How many of pageObjects have had their fields added to locatorKeys
+    private int indexedPageObjects = 0;
+
+    // String[] fields per page-object class, looked up once per class via reflection
+    private static final Map<Class<?>, List<Field>> locatorFields = new ConcurrentHashMap<>();
+
+    // Selector that won the current action — the key ActionLatencyRecorder files its time under
+    private String lastWinner;
+
+    // ── Compiled Locators for this page, by selector (race mode: by joined selector list) ──
+    // Belongs to this ElementUtils' Page — a new Page gets a new ElementUtils, so a fresh cache
+    private final Map<String, Locator> locatorCache = new HashMap<>();
+
     /**
      * Constructor — requires a Page so ElementUtils always operates
      * on the correct browser tab for the current test thread.
      */
     public ElementUtils(Page page) {
         this.page = page;
+        PageStability.install(page);  // Request tracker for waitForPageStable() — once per Page, see PageStability
     }
 
     /**
      * Reads the global wait timeout from config.
      * Centralised here so all methods stay in sync with one config value.
+     * A plain field read — the value is parsed once at startup (see ConfigSnapshot).
      *
      * @return timeout in milliseconds as a double (Playwright expects double)
      */
     private double getTimeout() {
-        String timeout = ConfigLoader.getInstance().getOptionalProp("timeout.global.wait");
-        return Double.parseDouble(timeout);
+        return ConfigLoader.getInstance().getSnapshot().globalWaitMs;
+    }
+
+    /**
+     * Returns true if fallback selectors are raced at once ("locator.resolution.mode=race")
+     * instead of tried one by one ("sequential", the default).
+     */
+    private boolean isRaceMode() {
+        return ConfigLoader.getInstance().getSnapshot().raceMode;
+    }
+
+    /**
+     * Returns the compiled Locator for a selector, creating it on first use for this page.
+     * Repeated actions on the same element (e.g. assertion loops) re-use one Locator.
+     *
+     * @param selector — CSS/XPath selector
+     * @return         — The cached Locator
+     */
+    private Locator locator(String selector) {
+        return locatorCache.computeIfAbsent(selector, page::locator);
+    }
+
+    /**
+     * Waits for one selector to be ready and records how long that took.
+     * With timeout.adaptive.enabled=true the budget is the one learned for this selector
+     * (see AdaptiveTimeouts) — a selector that is normally ready in 100ms fails fast.
+     *
+     * @param locator       — Locator for the selector
+     * @param selector      — The selector itself (key for the learned budget)
+     * @param defaultBudget — Budget to use without adaptive mode (ms)
+     */
+    private void awaitReady(Locator locator, String selector, double defaultBudget) {
+        long start = System.nanoTime();
+        locator.waitFor(new Locator.WaitForOptions().setTimeout(AdaptiveTimeouts.timeoutFor(selector, defaultBudget)));
+        AdaptiveTimeouts.record(selector, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // ============================================================
+    // SELECTOR RANKING
+    // ============================================================
+
+    /**
+     * Registers a page object, so its selector arrays can be ranked by field name.
+     * Called from the BasePage constructor.
+     *
+     * @param pageObject — The page object using this ElementUtils
+     */
+    public void registerPageObject(Object pageObject) {
+        pageObjects.add(pageObject);
+    }
+
+    /**
+     * Returns the "PageClass.field" key of a selector array, or null if ranking is off
+     * or the array doesn't belong to a registered page object (e.g. inline selectors).
+     */
+    private String locatorKey(String[] selectors) {
+        return SelectorRanking.isEnabled() ? ownerOf(selectors) : null;
+    }
+
+    /**
+     * Returns the "PageClass.field" a selector array is declared in, or null for inline
+     * selectors. A plain identity-map lookup — every registered page object is indexed once
+     * (see indexPageObjects), so an inline varargs array costs no reflection scan and
+     * leaves nothing behind in the map.
+     */
+    private String ownerOf(String[] selectors) {
+        String key = locatorKeys.get(selectors);
+        if (key == null && indexedPageObjects < pageObjects.size()) {
+            indexPageObjects();
+            key = locatorKeys.get(selectors);
+        }
+        return key;
+    }
+
+    /**
+     * Adds the selector arrays of page objects registered since the last call to locatorKeys.
+     * Done lazily, on the first lookup after a registration — registerPageObject() runs in the
+     * BasePage constructor, before the subclass has assigned its locator fields.
+     */
+    private void indexPageObjects() {
+        for (; indexedPageObjects < pageObjects.size(); indexedPageObjects++) {
+            Object pageObject = pageObjects.get(indexedPageObjects);
+            for (Field field : fieldsOf(pageObject.getClass())) {
+                try {
+                    Object value = field.get(pageObject);
+                    String key = pageObject.getClass().getSimpleName() + "." + field.getName();
+                    if (value instanceof String[] array) {
+                        locatorKeys.put(array, key);
+                    } else if (value instanceof LocatorGroup group) {
+                        locatorKeys.put(group.selectors(), key);
+                    }
+                } catch (IllegalAccessException e) {
+                    logger.debug("Cannot read locator field {}: {}", field.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    // All String[] / LocatorGroup fields of a page-object class and its parents
+    private static List<Field> fieldsOf(Class<?> type) {
+        return locatorFields.computeIfAbsent(type, t -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = t; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.getType() == String[].class || field.getType() == LocatorGroup.class) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        });
+    }
+
+    // Selectors in learned order (unchanged when there's no key / nothing learned yet)
+    private String[] ranked(String key, String[] selectors) {
+        return key == null ? selectors : SelectorRanking.rank(key, selectors);
+    }
+
+    /**
+     * Reports a failed attempt together with the time it waited (fallback cost).
+     * key is the ranking key if there is one — otherwise the owner is looked up, which
+     * only happens on this failure path, so ranking-off runs never pay for the lookup.
+     *
+     * @param action       — Name of the calling method, used in the failure report
+     * @param selector     — The selector that failed
+     * @param attemptStart — System.nanoTime() taken when the attempt started
+     * @param key          — Ranking key of the selector array, or null
+     * @param selectors    — The selector array the attempt came from
+     */
+    private void reportMiss(String action, String selector, long attemptStart, String key, String[] selectors) {
+        long wastedMs = (System.nanoTime() - attemptStart) / 1_000_000;
+        FailedLocatorCollector.addFailure(action, selector, wastedMs, key != null ? key : ownerOf(selectors));
+    }
+
+    // Counts a successful action for the selector that worked (ranking + latency key)
+    private void recordWin(String key, String selector) {
+        lastWinner = selector;
+        if (key != null) SelectorRanking.recordWin(key, selector);
+    }
+
+    // ============================================================
+    // RACE RESOLUTION
+    // ============================================================
+
+    /**
+     * Waits on all selectors at once and returns the one to act on.
+     *
+     * Steps performed:
+     *   1. Combine every selector into one locator (sel1 OR sel2 OR sel3)
+     *   2. Wait — up to the full global timeout — until any of them is visible
+     *   3. Pick the first selector (in priority order) that is visible right now
+     *   4. Report every selector that is not visible to FailedLocatorCollector
+     *
+     * @param action    — Name of the calling method, used in the failure report
+     * @param key       — Ranking key of the selector array, or null
+     * @param selectors — Candidate selectors, highest priority first
+     * @return          — The winning selector
+     * @throws RuntimeException if none of the selectors becomes visible in time
+     */
+    private String raceSelectors(String action, String key, String... selectors) {
+        // Combined locator is cached too — per candidate order (ranking may re-order them)
+        Locator combined = locatorCache.computeIfAbsent(String.join("\u0000", selectors), k -> {
+            Locator or = locator(selectors[0]);
+            for (int i = 1; i < selectors.length; i++) {
+                or = or.or(locator(selectors[i]));
+            }
+            return or;
+        });
+
+        // Adaptive mode → wait as long as the slowest candidate normally needs
+        double budget = 0;
+        for (String selector : selectors) {
+            budget = Math.max(budget, AdaptiveTimeouts.timeoutFor(selector, getTimeout()));
+        }
+
+        long start = System.nanoTime();
+        try {
+            combined.first().waitFor(new Locator.WaitForOptions().setTimeout(budget));
+        } catch (Exception e) {
+            // One shared wait for all candidates — its cost is split between them
+            long wastedMs = (System.nanoTime() - start) / 1_000_000 / selectors.length;
+            String owner = key != null ? key : ownerOf(selectors);
+            for (String selector : selectors) {
+                FailedLocatorCollector.addFailure(action, selector, wastedMs, owner);
+            }
+            throw new RuntimeException("Action Failed: None of the provided locators for '" + action + "' were found.");
+        }
+
+        String winner = null;
+        for (String selector : selectors) {
+            if (winner == null && locator(selector).first().isVisible()) {
+                winner = selector;
+            } else if (winner == null || locator(selector).count() == 0) {
+                // Higher-priority candidate that isn't there, or a fallback that matches nothing
+                logger.debug("Selector lost the race for {}: {}", action, selector);
+                FailedLocatorCollector.addFailure(action, selector, 0, key != null ? key : ownerOf(selectors));  // Raced — no extra wait
+            }
+        }
+        if (winner == null) {
+            // Matched element disappeared between the wait and the check — rare, treat as not found
+            throw new RuntimeException("Action Failed: None of the provided locators for '" + action + "' were found.");
+        }
+        AdaptiveTimeouts.record(winner, (System.nanoTime() - start) / 1_000_000);
+        logger.debug("Selector won the race for {}: {}", action, winner);
+        return winner;
     }
 
     // ============================================================
@@ -70,30 +328,60 @@ public class ElementUtils {
      *   - Moves to the next selector if this one fails
      *
      * Throws RuntimeException if all selectors fail.
+     * In race mode all selectors are waited on at once (see raceSelectors()).
+     * Waits after the click per "wait.policy.click" (default: only if it navigated).
      *
      * @param selectors — One or more CSS/XPath selectors to try (in order)
      */
     public void clickElement(String... selectors) {
-        boolean success = false;
-        // Divide the global timeout equally across fallback attempts
-        double fallbackWait = getTimeout() / 3;
+        clickElement(ConfigLoader.getInstance().getSnapshot().clickWaitPolicy, selectors);
+    }
 
-        for (String selector : selectors) {
-            try {
-                Locator locator = page.locator(selector);
-                locator.waitFor(new Locator.WaitForOptions().setTimeout(fallbackWait));
-                locator.click();
-                waitForPageLoad();  // Wait for any navigation triggered by the click
+    /**
+     * Clicks an element, waiting afterwards according to the given policy.
+     *
+     * @param waitPolicy — What to wait for after the click (e.g. WaitPolicy.NETWORK_QUIET)
+     * @param selectors  — One or more CSS/XPath selectors to try (in order)
+     */
+    public void clickElement(WaitPolicy waitPolicy, String... selectors) {
+        long start = System.nanoTime();
+        lastWinner = null;
+        try {
+            String key = locatorKey(selectors);
+            selectors = ranked(key, selectors);  // Learned winner first (selector.ranking.enabled)
+
+            if (isRaceMode()) {
+                String selector = raceSelectors("clickElement", key, selectors);
+                waitPolicy.apply(page, locator(selector)::click);  // Click, then wait per policy
+                recordWin(key, selector);
                 logger.debug("clicked element with selector: {}", selector);
-                success = true;
-                break;  // Stop trying further selectors — this one worked
-            } catch (Exception e) {
-                logger.debug("Failed to click element with selector: {}", selector);
-                // Record this failed selector for post-run analysis
-                FailedLocatorCollector.addFailure("clickElement", selector);
+                return;
+            }
+
+            boolean success = false;
+            // Divide the global timeout equally across fallback attempts
+            double fallbackWait = getTimeout() / 3;
+
+            for (String selector : selectors) {
+                long attemptStart = System.nanoTime();
+                try {
+                    Locator locator = locator(selector);
+                    awaitReady(locator, selector, fallbackWait);
+                    waitPolicy.apply(page, locator::click);  // Click, then wait per policy
+                    recordWin(key, selector);
+                    logger.debug("clicked element with selector: {}", selector);
+                    success = true;
+                    break;  // Stop trying further selectors — this one worked
+                } catch (Exception e) {
+                    logger.debug("Failed to click element with selector: {}", selector);
+                    // Record this failed selector for post-run analysis
+                    reportMiss("clickElement", selector, attemptStart, key, selectors);
+                }
             }
+            if (!success) throw new RuntimeException("All locators failed for clickElement.");
+        } finally {
+            ActionLatencyRecorder.record("clickElement", lastWinner, start);  // action.latency.enabled
         }
-        if (!success) throw new RuntimeException("All locators failed for clickElement.");
     }
 
     // ============================================================
@@ -112,24 +400,114 @@ public class ElementUtils {
      * @param selectors — One or more CSS/XPath selectors to try (in order)
      */
     public void enterText(String value, String... selectors) {
-        boolean success = false;
-        // Use 1/3 of global timeout per fallback attempt
-        double fallbackTimeout = getTimeout() / 3;
+        long start = System.nanoTime();
+        lastWinner = null;
+        try {
+            String key = locatorKey(selectors);
+            selectors = ranked(key, selectors);  // Learned winner first (selector.ranking.enabled)
 
-        for (String selector : selectors) {
-            try {
-                Locator locator = page.locator(selector);
-                locator.waitFor(new Locator.WaitForOptions().setTimeout(fallbackTimeout));
-                locator.fill(value);  // Clears field first, then types the value
+            if (isRaceMode()) {
+                String selector = raceSelectors("enterText", key, selectors);
+                locator(selector).fill(value);  // Clears field first, then types the value
+                recordWin(key, selector);
                 logger.debug("Entered text successfully using selector: {}, text: {}", selector, value);
-                success = true;
-                break;
-            } catch (Exception e) {
-                logger.debug("Failed to Enter text using selector: {}", selector);
-                FailedLocatorCollector.addFailure("enterText", selector);
+                return;
+            }
+
+            boolean success = false;
+            // Use 1/3 of global timeout per fallback attempt
+            double fallbackTimeout = getTimeout() / 3;
+
+            for (String selector : selectors) {
+                long attemptStart = System.nanoTime();
+                try {
+                    Locator locator = locator(selector);
+                    awaitReady(locator, selector, fallbackTimeout);
+                    locator.fill(value);  // Clears field first, then types the value
+                    recordWin(key, selector);
+                    logger.debug("Entered text successfully using selector: {}, text: {}", selector, value);
+                    success = true;
+                    break;
+                } catch (Exception e) {
+                    logger.debug("Failed to Enter text using selector: {}", selector);
+                    reportMiss("enterText", selector, attemptStart, key, selectors);
+                }
+            }
+            if (!success) throw new RuntimeException("Action Failed: None of the provided locators for 'enterText' were found.");
+        } finally {
+            ActionLatencyRecorder.record("enterText", lastWinner, start);  // action.latency.enabled
+        }
+    }
+
+    // ============================================================
+    // FILL FORM (BATCHED)
+    // ============================================================
+
+    /**
+     * Fills many text fields in one round trip to the browser.
+     *
+     * All fields are resolved and filled by a single in-page evaluation (see
+     * InPageScripts.FILL_FORM) — no wait, fill and log per field. Only fields that
+     * couldn't be filled that way (not rendered yet, not a text input, or a
+     * Playwright-only selector) are filled one by one with enterText(), which waits
+     * and falls back as usual.
+     *
+     * Fallback selectors that didn't match before the one that worked are still
+     * reported to FailedLocatorCollector (action "fillForm").
+     *
+     * Example:
+     *   Map<String[], String> form = new LinkedHashMap<>();
+     *   form.put(usernameField, user);
+     *   form.put(passwordField, pass);
+     *   elementUtils.fillForm(form);
+     *
+     * @param fields — Selector array → value, filled in map order (use a LinkedHashMap)
+     */
+    public void fillForm(Map<String[], String> fields) {
+        List<String[]> originals = new ArrayList<>();
+        List<String[]> tried = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        List<Map<String, Object>> payload = new ArrayList<>();
+
+        for (Map.Entry<String[], String> field : fields.entrySet()) {
+            String key = locatorKey(field.getKey());
+            String[] selectors = ranked(key, field.getKey());  // Learned winner first (selector.ranking.enabled)
+            originals.add(field.getKey());
+            tried.add(selectors);
+            keys.add(key);
+            values.add(field.getValue());
+            payload.add(Map.of("selectors", Arrays.asList(selectors), "value", field.getValue()));
+        }
+
+        // ── One evaluation for the whole form ──
+        List<?> results = null;
+        long evaluateStart = System.nanoTime();
+        try {
+            results = (List<?>) page.evaluate(InPageScripts.FILL_FORM, payload);
+        } catch (RuntimeException e) {
+            logger.debug("Batched form fill failed, filling field by field: {}", e.getMessage());
+        }
+        long evaluateMs = (System.nanoTime() - evaluateStart) / 1_000_000;
+
+        int batched = 0;
+        for (int i = 0; i < tried.size(); i++) {
+            int winner = results == null ? -1 : ((Number) ((Map<?, ?>) results.get(i)).get("winner")).intValue();
+            if (winner < 0) {
+                enterText(values.get(i), originals.get(i));  // Per-field fill with waits + fallback reporting
+                continue;
+            }
+            String[] selectors = tried.get(i);
+            // FILL_FORM doesn't wait — a miss only costs its share of the one evaluation
+            long wastedMs = evaluateMs / tried.size() / (winner + 1);
+            for (int j = 0; j < winner; j++) {
+                logger.debug("Failed to fill form field using selector: {}", selectors[j]);
+                FailedLocatorCollector.addFailure("fillForm", selectors[j], wastedMs, ownerOf(originals.get(i)));
             }
+            recordWin(keys.get(i), selectors[winner]);
+            batched++;
         }
-        if (!success) throw new RuntimeException("Action Failed: None of the provided locators for 'enterText' were found.");
+        logger.debug("Form filled: {} of {} fields in one round trip", batched, tried.size());
     }
 
     // ============================================================
@@ -139,7 +517,8 @@ public class ElementUtils {
     /**
      * Retrieves the visible text content of an element.
      *
-     * Waits for the page to load first, then tries each selector in order.
+     * Settles the page per "wait.policy.read" first (default: no extra wait — the
+     * element wait below covers it), then tries each selector in order.
      * Returns the trimmed text of the first element found.
      *
      * Throws RuntimeException if all selectors fail.
@@ -148,22 +527,52 @@ public class ElementUtils {
      * @return          — The trimmed text content of the matched element
      */
     public String getElementText(String... selectors) {
-        waitForPageLoad();  // Ensure page is ready before trying to read text
-        double fallbackTimeout = getTimeout() / 3;
+        return getElementText(ConfigLoader.getInstance().getSnapshot().readWaitPolicy, selectors);
+    }
 
-        for (String selector : selectors) {
-            try {
-                Locator locator = page.locator(selector);
-                locator.waitFor(new Locator.WaitForOptions().setTimeout(fallbackTimeout));
-                String text = locator.textContent().trim();  // .trim() removes whitespace from edges
+    /**
+     * Retrieves the text of an element, settling the page with the given policy first.
+     *
+     * @param waitPolicy — What to wait for before reading (e.g. WaitPolicy.DOMCONTENTLOADED)
+     * @param selectors  — One or more CSS/XPath selectors to try (in order)
+     * @return           — The trimmed text content of the matched element
+     */
+    public String getElementText(WaitPolicy waitPolicy, String... selectors) {
+        long start = System.nanoTime();
+        lastWinner = null;
+        try {
+            waitPolicy.apply(page, () -> {});  // Ensure page is ready before trying to read text
+            String key = locatorKey(selectors);
+            selectors = ranked(key, selectors);  // Learned winner first (selector.ranking.enabled)
+
+            if (isRaceMode()) {
+                String selector = raceSelectors("getElementText", key, selectors);
+                String text = locator(selector).textContent().trim();
+                recordWin(key, selector);
                 logger.debug("Text retrieved from selector: {} is {}", selector, text);
                 return text;
-            } catch (Exception e) {
-                logger.debug("Failed to fetch element text from selector: {}", selector);
-                FailedLocatorCollector.addFailure("getElementText", selector);
             }
+
+            double fallbackTimeout = getTimeout() / 3;
+
+            for (String selector : selectors) {
+                long attemptStart = System.nanoTime();
+                try {
+                    Locator locator = locator(selector);
+                    awaitReady(locator, selector, fallbackTimeout);
+                    String text = locator.textContent().trim();  // .trim() removes whitespace from edges
+                    recordWin(key, selector);
+                    logger.debug("Text retrieved from selector: {} is {}", selector, text);
+                    return text;
+                } catch (Exception e) {
+                    logger.debug("Failed to fetch element text from selector: {}", selector);
+                    reportMiss("getElementText", selector, attemptStart, key, selectors);
+                }
+            }
+            throw new RuntimeException("Action Failed: None of the provided locators for 'getElementText' were found.");
+        } finally {
+            ActionLatencyRecorder.record("getElementText", lastWinner, start);  // action.latency.enabled
         }
-        throw new RuntimeException("Action Failed: None of the provided locators for 'getElementText' were found.");
     }
 
     // ============================================================
@@ -177,23 +586,256 @@ public class ElementUtils {
      * Returns false (without throwing) if none are visible — useful for conditional
      * logic in tests (e.g. "if element is visible, then click it").
      *
+     * Settles the page per "wait.policy.read" first (default: no extra wait).
+     *
      * @param selectors — One or more CSS/XPath selectors to try (in order)
      * @return          — true if any selector finds a visible element, false otherwise
      */
     public boolean isElementVisible(String... selectors) {
-        for (String selector : selectors) {
-            try {
-                waitForPageLoad();
-                // Wait up to the full global timeout for this element to become visible
-                page.locator(selector).waitFor(new Locator.WaitForOptions()
-                        .setTimeout(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("timeout.global.wait"))));
-                return true;  // Element found and visible
-            } catch (Exception e) {
-                logger.debug("Selector is not visible, Selector: {}", selector);
-                FailedLocatorCollector.addFailure("visibilityCheck", selector);
+        return isElementVisible(ConfigLoader.getInstance().getSnapshot().readWaitPolicy, selectors);
+    }
+
+    /**
+     * Checks whether an element is visible, settling the page with the given policy first.
+     *
+     * @param waitPolicy — What to wait for before checking (e.g. WaitPolicy.NETWORK_QUIET)
+     * @param selectors  — One or more CSS/XPath selectors to try (in order)
+     * @return           — true if any selector finds a visible element, false otherwise
+     */
+    public boolean isElementVisible(WaitPolicy waitPolicy, String... selectors) {
+        long start = System.nanoTime();
+        lastWinner = null;
+        try {
+            String key = locatorKey(selectors);
+            selectors = ranked(key, selectors);  // Learned winner first (selector.ranking.enabled)
+            waitPolicy.apply(page, () -> {});    // Settle the page once, not before every selector
+
+            if (isRaceMode()) {
+                try {
+                    recordWin(key, raceSelectors("visibilityCheck", key, selectors));
+                    return true;
+                } catch (RuntimeException e) {
+                    return false;  // None of the selectors found a visible element
+                }
+            }
+
+            for (String selector : selectors) {
+                long attemptStart = System.nanoTime();
+                try {
+                    // Wait up to the full global timeout (or the learned budget) for this element to become visible
+                    awaitReady(locator(selector), selector, getTimeout());
+                    recordWin(key, selector);
+                    return true;  // Element found and visible
+                } catch (Exception e) {
+                    logger.debug("Selector is not visible, Selector: {}", selector);
+                    reportMiss("visibilityCheck", selector, attemptStart, key, selectors);
+                }
             }
+            return false;  // None of the selectors found a visible element
+        } finally {
+            ActionLatencyRecorder.record("isElementVisible", lastWinner, start);  // action.latency.enabled
         }
-        return false;  // None of the selectors found a visible element
+    }
+
+    // ============================================================
+    // BULK READS
+    // ============================================================
+
+    /**
+     * Reads the text of many elements in one round trip.
+     *
+     * Each argument is one element's selector group ({Primary, Fallback1, ...}). All groups
+     * are resolved inside the page in a single evaluation (see InPageScripts.READ_ELEMENTS),
+     * which keeps re-checking until every group has a visible match or timeout.global.wait
+     * passes. Within a group the first selector with a visible match wins.
+     *
+     * A group with a Playwright-only selector, or an evaluation cut off by a navigation,
+     * is read with getElementText() instead. Missed fallbacks are reported to
+     * FailedLocatorCollector (action "getElementText"), exactly like single reads.
+     *
+     * Throws RuntimeException if any group can't be found.
+     *
+     * Example:
+     *   List<String> texts = elementUtils.getElementTexts(nameField, roleField, statusField);
+     *
+     * @param selectorGroups — One selector array per element
+     * @return               — The trimmed text of each element, in argument order
+     */
+    public List<String> getElementTexts(String[]... selectorGroups) {
+        ConfigLoader.getInstance().getSnapshot().readWaitPolicy.apply(page, () -> {});
+        List<String> texts = new ArrayList<>();
+        List<Map<?, ?>> results = readElements("getElementText", selectorGroups);
+
+        for (int i = 0; i < selectorGroups.length; i++) {
+            Map<?, ?> result = results.get(i);
+            if (result == null) {
+                texts.add(getElementText(WaitPolicy.NONE, selectorGroups[i]));  // Read the normal way
+            } else if (result.get("winner") == null) {
+                throw new RuntimeException("Action Failed: None of the provided locators for 'getElementText' were found.");
+            } else {
+                texts.add((String) result.get("text"));
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * Checks the visibility of many elements in one round trip.
+     *
+     * Same resolution as getElementTexts(): one in-page evaluation for all groups, waiting
+     * up to timeout.global.wait for the ones not visible yet. Never throws — a group
+     * that doesn't become visible is simply false.
+     *
+     * Example:
+     *   List<Boolean> shown = elementUtils.areElementsVisible(header, menu, userAvatar);
+     *
+     * @param selectorGroups — One selector array per element
+     * @return               — Visibility of each element, in argument order
+     */
+    public List<Boolean> areElementsVisible(String[]... selectorGroups) {
+        ConfigLoader.getInstance().getSnapshot().readWaitPolicy.apply(page, () -> {});
+        List<Boolean> visible = new ArrayList<>();
+        List<Map<?, ?>> results = readElements("visibilityCheck", selectorGroups);
+
+        for (int i = 0; i < selectorGroups.length; i++) {
+            Map<?, ?> result = results.get(i);
+            if (result == null) {
+                visible.add(isElementVisible(WaitPolicy.NONE, selectorGroups[i]));  // Check the normal way
+            } else {
+                visible.add(result.get("winner") != null);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Runs READ_ELEMENTS for all groups and handles ranking + failure reporting.
+     *
+     * Returns one entry per group:
+     *   null                  → group must be read the normal way (unsupported selector / navigation)
+     *   map without "winner"  → no selector of the group matched (all of them reported)
+     *   map with "text"       → the winning selector's text (winner recorded, earlier misses reported)
+     */
+    private List<Map<?, ?>> readElements(String action, String[]... selectorGroups) {
+        List<String> keys = new ArrayList<>();
+        List<String[]> tried = new ArrayList<>();
+        List<List<String>> payload = new ArrayList<>();
+        for (String[] group : selectorGroups) {
+            String key = locatorKey(group);
+            String[] selectors = ranked(key, group);  // Learned winner first (selector.ranking.enabled)
+            keys.add(key);
+            tried.add(selectors);
+            payload.add(Arrays.asList(selectors));
+        }
+
+        List<?> raw = null;
+        try {
+            raw = (List<?>) page.evaluate(InPageScripts.READ_ELEMENTS, List.of(payload, getTimeout()));
+        } catch (RuntimeException e) {
+            logger.debug("Bulk read failed, reading element by element: {}", e.getMessage());
+        }
+
+        List<Map<?, ?>> results = new ArrayList<>();
+        for (int i = 0; i < tried.size(); i++) {
+            Map<?, ?> result = raw == null ? null : (Map<?, ?>) raw.get(i);
+            if (result == null || Boolean.TRUE.equals(result.get("unsupported"))) {
+                results.add(null);
+                continue;
+            }
+            String[] selectors = tried.get(i);
+            int winner = ((Number) result.get("winner")).intValue();
+            int missed = winner < 0 ? selectors.length : winner;
+            // Full miss → the whole in-page wait, split across the group; late winner → a share
+            // of the time until it showed up, per candidate that was checked (misses + winner)
+            long waitedMs = ((Number) result.get("waitedMs")).longValue();
+            long wastedMs = winner < 0 ? waitedMs / selectors.length : waitedMs / (winner + 1);
+            for (int j = 0; j < missed; j++) {
+                logger.debug("Selector not found in bulk read for {}: {}", action, selectors[j]);
+                FailedLocatorCollector.addFailure(action, selectors[j], wastedMs, ownerOf(selectorGroups[i]));
+            }
+            Map<String, Object> row = new HashMap<>();
+            if (winner >= 0) {
+                recordWin(keys.get(i), selectors[winner]);
+                row.put("winner", selectors[winner]);
+                row.put("text", result.get("text"));
+            }
+            results.add(row);
+        }
+        return results;
+    }
+
+    // ============================================================
+    // LOCATOR GROUPS
+    // ============================================================
+    // Same actions for page objects that declare LocatorGroup fields instead of String[]
+
+    /**
+     * Clicks an element from a LocatorGroup — see clickElement(String...).
+     *
+     * @param group — The element's selectors
+     */
+    public void clickElement(LocatorGroup group) {
+        clickElement(group.selectors());
+    }
+
+    /**
+     * Clicks an element from a LocatorGroup, waiting afterwards per the given policy.
+     *
+     * @param waitPolicy — What to wait for after the click
+     * @param group      — The element's selectors
+     */
+    public void clickElement(WaitPolicy waitPolicy, LocatorGroup group) {
+        clickElement(waitPolicy, group.selectors());
+    }
+
+    /**
+     * Types text into a field from a LocatorGroup — see enterText(String, String...).
+     *
+     * @param value — The text to type into the field
+     * @param group — The field's selectors
+     */
+    public void enterText(String value, LocatorGroup group) {
+        enterText(value, group.selectors());
+    }
+
+    /**
+     * Retrieves the text of an element from a LocatorGroup — see getElementText(String...).
+     *
+     * @param group — The element's selectors
+     * @return      — The trimmed text content of the matched element
+     */
+    public String getElementText(LocatorGroup group) {
+        return getElementText(group.selectors());
+    }
+
+    /**
+     * Checks visibility of an element from a LocatorGroup — see isElementVisible(String...).
+     *
+     * @param group — The element's selectors
+     * @return      — true if any selector finds a visible element, false otherwise
+     */
+    public boolean isElementVisible(LocatorGroup group) {
+        return isElementVisible(group.selectors());
+    }
+
+    /**
+     * Reads the text of many LocatorGroups in one round trip — see getElementTexts(String[]...).
+     *
+     * @param groups — One group per element
+     * @return       — The trimmed text of each element, in argument order
+     */
+    public List<String> getElementTexts(LocatorGroup... groups) {
+        return getElementTexts(Arrays.stream(groups).map(LocatorGroup::selectors).toArray(String[][]::new));
+    }
+
+    /**
+     * Checks the visibility of many LocatorGroups in one round trip — see areElementsVisible(String[]...).
+     *
+     * @param groups — One group per element
+     * @return       — Visibility of each element, in argument order
+     */
+    public List<Boolean> areElementsVisible(LocatorGroup... groups) {
+        return areElementsVisible(Arrays.stream(groups).map(LocatorGroup::selectors).toArray(String[][]::new));
     }
 
     // ============================================================
@@ -206,34 +848,33 @@ public class ElementUtils {
      * Useful after clicks or form submissions that trigger a page navigation —
      * confirms the browser has landed on the right page before tests continue.
      *
-     * Uses a polling loop (checks every 500ms) rather than a single wait,
-     * which is more reliable for SPAs (Single Page Applications) where
-     * URL changes may happen gradually.
+     * Event-driven — Playwright's waitForURL() re-checks the URL on every navigation
+     * event of the main frame, including SPA route changes (history.pushState), so this
+     * returns the moment the URL matches instead of on the next polling tick.
+     * WaitUntilState.COMMIT → only the URL has to match; callers that need the new
+     * page's content wait for its elements as usual.
      *
      * Throws RuntimeException with the actual URL if the timeout expires.
+     * The time the wait actually took is logged at debug level.
      *
      * @param urlPart — A substring expected to appear in the URL (case-insensitive)
      */
     public void waitForPageURL(String urlPart) {
-        double timeout = getTimeout();
-        long startTime = System.currentTimeMillis();
-        boolean found = false;
-
-        // Poll the URL every 500ms until it matches or time runs out
-        while (System.currentTimeMillis() - startTime < timeout) {
-            if (page.url().toLowerCase().contains(urlPart.toLowerCase())) {
-                found = true;
-                logger.debug("Found \"{}\" in current URL", urlPart);
-                break;
-            }
-            // Small pause between checks — prevents hammering the CPU in a tight loop
-            page.waitForTimeout(500);
-        }
+        String expected = urlPart.toLowerCase();
+        long start = System.nanoTime();
 
-        if (!found) {
+        try {
+            // Checked immediately, then on every frame navigation — no fixed sleep
+            page.waitForURL(url -> url.toLowerCase().contains(expected), new Page.WaitForURLOptions()
+                    .setTimeout(getTimeout())
+                    .setWaitUntil(WaitUntilState.COMMIT));
+        } catch (TimeoutError e) {
+            ActionLatencyRecorder.record("waitForPageURL", null, start);
             throw new RuntimeException("Timed out waiting for URL to contain: " + urlPart
                     + ". Current URL is: " + page.url());
         }
+        ActionLatencyRecorder.record("waitForPageURL", urlPart, start);  // action.latency.enabled
+        logger.debug("Found \"{}\" in current URL after {} ms", urlPart, (System.nanoTime() - start) / 1_000_000);
     }
 
     // ============================================================
@@ -245,50 +886,52 @@ public class ElementUtils {
      *
      * This is a lighter wait than waitForPageStable() — it confirms the HTML
      * structure is ready but doesn't wait for images, fonts, or network calls.
-     * Used internally after clicks that may trigger a navigation.
+     * Same as WaitPolicy.DOMCONTENTLOADED — clicks use WaitPolicy.NAVIGATION_IF_TRIGGERED.
      */
     public void waitForPageLoad() {
         page.waitForLoadState(LoadState.DOMCONTENTLOADED, new Page.WaitForLoadStateOptions()
-                .setTimeout(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("timeout.page.load"))));
+                .setTimeout(ConfigLoader.getInstance().getSnapshot().pageLoadMs));
     }
 
     /**
-     * Waits for the page to be fully stable — DOM loaded, network idle, and rendered.
+     * Waits for the page to be fully stable — DOM loaded, rendered, and no longer changing.
      *
-     * This is a heavier, three-stage wait designed for pages that:
+     * This is a heavier, two-stage wait designed for pages that:
      *   - Have async API calls that complete after initial load
      *   - Are Single Page Applications (React, Angular, Vue) with client-side rendering
      *   - Show loading spinners or skeleton screens before content appears
      *
      * Stages:
      *   1. Wait for <body> to be visible (confirms basic DOM is ready)
-     *   2. Wait for network to go idle (no more API calls in flight)
-     *      → Wrapped in try/catch: some pages never fully go idle, which is fine
-     *   3. Short 200ms buffer → allows the browser's render/paint cycle to finish
-     *      before test steps try to interact with freshly rendered elements
+     *      → Best effort: a timeout here is logged and the wait moves on to stage 2
+     *   2. Wait until the DOM and fetch/XHR traffic have both been quiet for
+     *      page.stable.quiet.ms (see PageStability)
+     *      → Unlike network idle, background polling that started long ago doesn't block it,
+     *        and the wait is capped at page.stable.max.ms instead of timeout.page.load
+     *
+     * The measured settle time is logged and added to test-output/pageSettleTimes_*.json.
      */
     public void waitForPageStable() {
+        long start = System.nanoTime();
+        lastWinner = null;
         try {
             // Stage 1: Confirm the page body is visible (DOM is attached and rendered)
-            page.waitForSelector("body",
-                    new Page.WaitForSelectorOptions()
-                            .setState(WaitForSelectorState.VISIBLE)
-                            .setTimeout(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("timeout.global.wait"))));
-
-            // Stage 2: Wait for network activity to settle (no pending XHR/fetch calls)
-            // "best effort" — if the page keeps making background calls, we move on anyway
-            page.waitForLoadState(LoadState.NETWORKIDLE,
-                    new Page.WaitForLoadStateOptions()
-                            .setTimeout(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("timeout.page.load"))));
+            // "best effort" — a body that isn't visible in time doesn't fail the scenario
+            try {
+                page.waitForSelector("body",
+                        new Page.WaitForSelectorOptions()
+                                .setState(WaitForSelectorState.VISIBLE)
+                                .setTimeout(getTimeout()));
+                lastWinner = "body";
+            } catch (TimeoutError e) {
+                logger.debug("Body not visible within {} ms, continuing...", getTimeout());
+            }
 
-        } catch (Exception e) {
-            // Network idle not reached — acceptable for apps with polling/websockets
-            System.out.println("Network idle not reached, continuing...");
+            // Stage 2: Wait for DOM mutations and in-flight requests to go quiet
+            PageStability.awaitQuiet(page);
+        } finally {
+            ActionLatencyRecorder.record("waitForPageStable", lastWinner, start);  // action.latency.enabled
         }
-
-        // Stage 3: Small buffer to let the browser finish painting the UI
-        // 200ms is enough for most SPA render cycles without slowing tests down
-        page.waitForTimeout(200);
     }
 
     // ============================================================
@@ -2,16 +2,23 @@ package com.samtech.qa.utils;
 
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.samtech.qa.utils.ExcelUtility.DataManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * FailedLocatorCollector — Tracks and reports selectors that failed during a test run.
@@ -30,21 +37,80 @@ import java.util.*;
  *   {
  *     "locator": "#submit-btn",
  *     "action": "clickElement",
- *     "impacted_scenarios": ["ValidLogin", "AdminLogin"]
+ *     "impacted_scenarios": ["AdminLogin", "ValidLogin"],
+ *     "failure_count": 7,
+ *     "first_seen": "2025-01-01T14:21:03.118Z",
+ *     "last_seen": "2025-01-01T14:29:47.502Z",
+ *     "page_objects": ["LoginPage.loginButton"],
+ *     "wasted_ms": 21000,
+ *     "wasted_ms_by_scenario": {"AdminLogin": 6000, "ValidLogin": 15000}
  *   }
  * ]
  *
+ * FALLBACK COST:
+ *   Every failed attempt also reports how long it waited before giving up — time the
+ *   scenario spent on a selector that was never going to match. It is rolled up:
+ *     - per selector      → "wasted_ms" on the report row (also fed to LocatorHealthStore)
+ *     - per scenario      → "wasted_ms_by_scenario" on the row, and the current thread's
+ *                           scenario total for the Allure "Fallback wasted (ms)" parameters
+ *     - per page object   → "page_objects" on the row, and one Allure parameter per page
+ *                           object class; the suite totals per class are logged at suite end
+ *   A lost race costs no extra wait and reports 0. Batched reads report the in-page
+ *   wait (all of it, split across the group, on a full miss; a share of it when a fallback
+ *   only showed up late), batched form fills their share of the single evaluation.
+ *
+ * STREAMING (locator.failures.stream.enabled=true):
+ *   Instead of keeping failures in memory until @AfterSuite, every failure is appended
+ *   to test-output/failedLocators_{timestamp}.jsonl by a background thread (see
+ *   FailureEventSink). At suite end that file is compacted into the usual grouped report.
+ *   A killed CI job keeps everything streamed so far — compact it afterwards with
+ *   FailedLocatorCompactor. Long soak runs no longer grow the heap with failures.
+ *
  * Thread Safety:
- *   - failureLogs uses a synchronized list — safe for parallel test threads to write to
+ *   - failures is a ConcurrentHashMap keyed by action + locator — finding an entry is
+ *     one lookup, not a scan of every failure so far, and no global lock is taken
+ *   - Each entry's scenarios are a concurrent set, its count a LongAdder and its
+ *     last-seen time an AtomicLong — parallel threads update them without locking
  *   - currentScenario uses ThreadLocal — each thread tracks its own scenario name
  *     independently, so parallel tests don't overwrite each other's scenario context
  */
 public class FailedLocatorCollector {
 
-    // ── Shared failure log — all threads write to this one list ──
-    // Collections.synchronizedList wraps ArrayList to make it thread-safe
-    // (prevents data corruption when multiple tests fail at the same time)
-    private static final List<Map<String, Object>> failureLogs = Collections.synchronizedList(new ArrayList<>());
+    // ── Shared failure index — all threads write to this one map ──
+    // Key: action + locator → one entry per broken locator and action, found in O(1)
+    private static final Map<String, FailureEntry> failures = new ConcurrentHashMap<>();
+
+    // One failing locator/action pair — every field is safe to update from parallel threads
+    private static final class FailureEntry {
+        final String locator;
+        final String action;
+        final Set<String> scenarios = ConcurrentHashMap.newKeySet();
+        final LongAdder count = new LongAdder();
+        final long firstSeen;
+        final AtomicLong lastSeen;
+        final LongAdder wastedMs = new LongAdder();
+        final Set<String> owners = ConcurrentHashMap.newKeySet();
+        final Map<String, LongAdder> wasteByScenario = new ConcurrentHashMap<>();
+
+        FailureEntry(String locator, String action, long firstSeen) {
+            this.locator = locator;
+            this.action = action;
+            this.firstSeen = firstSeen;
+            this.lastSeen = new AtomicLong(firstSeen);
+        }
+
+        // Adds one failure of this locator/action, seen at the given time
+        void add(String scenarioName, long seenAt, long wasted, String owner) {
+            // Concurrent sets don't take null — failures outside a scenario get a placeholder
+            String scenario = scenarioName != null ? scenarioName : "(outside scenario)";
+            scenarios.add(scenario);
+            count.increment();
+            lastSeen.accumulateAndGet(seenAt, Math::max);
+            wastedMs.add(wasted);
+            wasteByScenario.computeIfAbsent(scenario, s -> new LongAdder()).add(wasted);
+            if (owner != null) owners.add(owner);
+        }
+    }
 
     // ── Per-thread scenario name ──
     // Each test thread stores its current scenario name here independently.
@@ -52,6 +118,13 @@ public class FailedLocatorCollector {
     // without needing to pass the scenario name as a parameter every time.
     private static final ThreadLocal<String> currentScenario = new ThreadLocal<>();
 
+    // ── Per-thread fallback cost of the current scenario ──
+    // Page object class (or INLINE) → ms wasted on failed attempts; reset with the scenario name
+    private static final ThreadLocal<Map<String, Long>> threadWasteByPage = ThreadLocal.withInitial(TreeMap::new);
+
+    // Page-object bucket for selectors passed inline rather than declared as a field
+    private static final String INLINE = "(inline selectors)";
+
     private static final Logger logger = LoggerFactory.getLogger(FailedLocatorCollector.class);
 
     /**
@@ -63,6 +136,7 @@ public class FailedLocatorCollector {
      */
     public static void setScenarioName(String name) {
         currentScenario.set(name);
+        threadWasteByPage.get().clear();
     }
 
     /**
@@ -72,15 +146,25 @@ public class FailedLocatorCollector {
      */
     public static void removeScenarioName() {
         currentScenario.remove();
+        threadWasteByPage.remove();
+    }
+
+    /**
+     * Returns the time this thread's current scenario wasted on failed selector attempts,
+     * per page object class ("LoginPage", or "(inline selectors)"). Empty if nothing was wasted.
+     * Used by the hooks to add the "Fallback wasted (ms)" parameters in Allure.
+     */
+    public static Map<String, Long> getScenarioWastedMs() {
+        return new TreeMap<>(threadWasteByPage.get());
     }
 
     /**
      * Records a locator failure for the currently running scenario.
      *
      * Smart deduplication logic:
-     *   - If this locator has already been logged → just adds the current scenario
-     *     to its "impacted_scenarios" list (avoids duplicate locator entries)
-     *   - If this locator is new → creates a fresh entry with action + scenario
+     *   - If this locator has already failed for this action → adds the current scenario
+     *     to its impacted scenarios (a set — each scenario listed once) and bumps its count
+     *   - If this locator/action is new → creates a fresh entry
      *
      * This means if "#submit-btn" fails in 5 different scenarios, the report
      * shows one entry for "#submit-btn" with all 5 scenarios listed — much
@@ -90,41 +174,58 @@ public class FailedLocatorCollector {
      * @param locator — The CSS/XPath selector that couldn't be found
      */
     public static void addFailure(String action, String locator) {
+        addFailure(action, locator, 0, null);
+    }
+
+    /**
+     * Records a locator failure together with what it cost.
+     *
+     * @param action   — The method that failed (e.g. "clickElement", "enterText")
+     * @param locator  — The CSS/XPath selector that couldn't be found
+     * @param wastedMs — How long the attempt waited before giving up (0 if it cost no wait)
+     * @param owner    — "PageClass.field" the selector is declared in, or null if passed inline
+     */
+    public static void addFailure(String action, String locator, long wastedMs, String owner) {
         String currentScenarioName = currentScenario.get();
-        Map<String, Object> existingEntry = null;
-
-        // ── Check if this locator was already recorded ──
-        // Synchronized block ensures no other thread modifies the list
-        // while we're searching through it
-        synchronized (failureLogs) {
-            for (Map<String, Object> entry : failureLogs) {
-                if (entry.get("locator").equals(locator)) {
-                    existingEntry = entry;
-                    break;
-                }
-            }
+        long now = System.currentTimeMillis();
+
+        // Scenario rollup per page object class — read by the hooks at scenario end
+        if (wastedMs > 0) {
+            String page = owner == null ? INLINE : owner.substring(0, owner.indexOf('.'));
+            threadWasteByPage.get().merge(page, wastedMs, Long::sum);
         }
 
-        if (existingEntry != null) {
-            // ── Locator already exists — just add this scenario to its impact list ──
-            List<String> scenarios = (List<String>) existingEntry.get("impacted_scenarios");
-            if (!scenarios.contains(currentScenarioName)) {
-                scenarios.add(currentScenarioName);  // Avoid listing the same scenario twice
-            }
-        } else {
-            // ── New locator failure — create a fresh entry ──
-            // LinkedHashMap preserves insertion order in the JSON output
-            Map<String, Object> newEntry = new LinkedHashMap<>();
-            newEntry.put("locator", locator);
-            newEntry.put("action", action);
+        // ── Streaming — hand the event to the background sink, keep nothing in memory ──
+        if (isStreaming()) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("ts", now);
+            event.put("action", action);
+            event.put("locator", locator);
+            event.put("scenario", currentScenarioName);
+            event.put("wasted_ms", wastedMs);
+            event.put("owner", owner);
+            FailureEventSink.getInstance().append(event);
+            return;
+        }
 
-            List<String> scenarios = new ArrayList<>();
-            scenarios.add(currentScenarioName);
-            newEntry.put("impacted_scenarios", scenarios);
+        index(failures, action, locator, currentScenarioName, now, wastedMs, owner);
+    }
 
-            failureLogs.add(newEntry);
+    // Adds one failure to an index — used live and when compacting a JSONL stream
+    private static void index(Map<String, FailureEntry> target, String action, String locator,
+                              String scenarioName, long seenAt, long wastedMs, String owner) {
+        FailureEntry entry = target.computeIfAbsent(action + "\u0000" + locator, key -> {
             logger.debug("Locator added to failed xpath collection, locator: {}", locator);
-        }
+            return new FailureEntry(locator, action, seenAt);
+        });
+        entry.add(scenarioName, seenAt, wastedMs, owner);
+    }
+
+    /**
+     * Returns true if failures are streamed to disk via "locator.failures.stream.enabled".
+     */
+    public static boolean isStreaming() {
+        return ConfigLoader.getInstance().getSnapshot().failureStreaming;
     }
 
     /**
@@ -134,9 +235,102 @@ public class FailedLocatorCollector {
      * Output location: test-output/failedLocators_{ddMMyyyy_HHmmss}.json
      * The timestamp in the filename makes each run's report unique and easy to find.
      *
+     * In streaming mode the JSONL stream is closed and compacted into the same report.
+     *
      * Does nothing if no locator failures were recorded during the run.
      */
     public static void generateJsonReport() {
+        if (isStreaming()) {
+            File stream = FailureEventSink.getInstance().close();
+            if (stream != null) {
+                compact(stream);
+            } else {
+                writeReport(failures);  // Nothing streamed — still a (clean) run for the health store
+            }
+            return;
+        }
+        writeReport(failures);
+    }
+
+    /**
+     * Rebuilds the grouped report from a JSONL failure stream.
+     *
+     * Used at suite end in streaming mode, and by FailedLocatorCompactor for the stream
+     * of a run that was killed before it could write its report. Lines that can't be
+     * parsed (e.g. half-written when the JVM died) are skipped.
+     *
+     * Once compacted, the stream is renamed to failedLocators_*.jsonl.compacted — so a
+     * compactor step that also runs after a normal run finds nothing left to do, and the
+     * run is never written to the report folder or the health store twice. A stream that
+     * can't be read is left as it is, with nothing written, for a later compactor run.
+     *
+     * @param stream — A failedLocators_*.jsonl file
+     * @return       — Number of failure events compacted, or -1 if the stream couldn't be read
+     */
+    public static int compact(File stream) {
+        Map<String, FailureEntry> compacted = new HashMap<>();
+        ObjectMapper mapper = new ObjectMapper();
+        int events = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(stream))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    JsonNode event = mapper.readTree(line);
+                    String scenario = event.path("scenario").isNull() ? null : event.path("scenario").asText();
+                    String owner = event.path("owner").isTextual() ? event.path("owner").asText() : null;
+                    index(compacted, event.path("action").asText(), event.path("locator").asText(),
+                            scenario, event.path("ts").asLong(), event.path("wasted_ms").asLong(), owner);
+                    events++;
+                } catch (IOException e) {
+                    logger.debug("Skipping unreadable locator failure event: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not read locator failure stream {}: {}", stream, e.getMessage());
+            // No report and no health-store run from a partial read — the stream stays a
+            // *.jsonl, so a later FailedLocatorCompactor run records it exactly once
+            return -1;
+        }
+        writeReport(compacted);
+
+        // Mark the stream as done — kept for reference, but no longer picked up as a *.jsonl
+        File done = new File(stream.getPath() + ".compacted");
+        if (!stream.renameTo(done)) {
+            logger.warn("Could not mark {} as compacted — it may be compacted again.", stream);
+        }
+        return events;
+    }
+
+    // Writes an index as test-output/failedLocators_{timestamp}.json (+ the cross-run health store)
+    private static void writeReport(Map<String, FailureEntry> index) {
+        // ── Snapshot the index into the report layout, oldest failure first ──
+        List<FailureEntry> entries = new ArrayList<>(index.values());
+        entries.sort(Comparator.comparingLong((FailureEntry entry) -> entry.firstSeen).thenComparing(entry -> entry.locator));
+        List<Map<String, Object>> failureLogs = new ArrayList<>();
+        for (FailureEntry entry : entries) {
+            // LinkedHashMap preserves insertion order in the JSON output
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("locator", entry.locator);
+            row.put("action", entry.action);
+            row.put("impacted_scenarios", new TreeSet<>(entry.scenarios));
+            row.put("failure_count", entry.count.sum());
+            row.put("first_seen", Instant.ofEpochMilli(entry.firstSeen).toString());
+            row.put("last_seen", Instant.ofEpochMilli(entry.lastSeen.get()).toString());
+            row.put("page_objects", new TreeSet<>(entry.owners));
+            row.put("wasted_ms", entry.wastedMs.sum());
+            Map<String, Long> byScenario = new TreeMap<>();
+            entry.wasteByScenario.forEach((scenario, wasted) -> byScenario.put(scenario, wasted.sum()));
+            row.put("wasted_ms_by_scenario", byScenario);
+            failureLogs.add(row);
+        }
+        logWasteByPageObject(entries);
+
+        // Cross-run history — clean runs are recorded too (see LocatorHealthStore)
+        if (LocatorHealthStore.isEnabled()) {
+            LocatorHealthStore.fromConfig().appendRun(failureLogs);
+        }
+
         // Skip report generation if no failures were recorded
         if (failureLogs.isEmpty()) return;
 
@@ -164,4 +358,20 @@ public class FailedLocatorCollector {
             logger.error("Jackson failed to write the Failed Locator JSON report: {}", e.getMessage());
         }
     }
+
+    // Suite totals per page object class — a selector shared by several classes counts for each
+    private static void logWasteByPageObject(List<FailureEntry> entries) {
+        Map<String, Long> byPage = new TreeMap<>();
+        for (FailureEntry entry : entries) {
+            long wasted = entry.wastedMs.sum();
+            if (wasted == 0) continue;
+            if (entry.owners.isEmpty()) {
+                byPage.merge(INLINE, wasted, Long::sum);
+            }
+            Set<String> pages = new TreeSet<>();
+            entry.owners.forEach(owner -> pages.add(owner.substring(0, owner.indexOf('.'))));
+            pages.forEach(page -> byPage.merge(page, wasted, Long::sum));
+        }
+        byPage.forEach((page, wasted) -> logger.info("Fallback wasted by {}: {} ms", page, wasted));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.samtech.qa.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * FailureEventSink — Streams locator failures to disk while the run is going.
+ *
+ * Used by FailedLocatorCollector when locator.failures.stream.enabled=true. Every failure
+ * becomes one JSON line in an append-only file:
+ *   test-output/failedLocators_{ddMMyyyy_HHmmss}.jsonl
+ *   {"ts":1735741263118,"action":"clickElement","locator":"#submit-btn","scenario":"ValidLogin",
+ *    "wasted_ms":3000,"owner":"LoginPage.loginButton"}
+ *
+ * How it works:
+ *   - addFailure() only serialises the event and puts it on a queue — no file I/O on
+ *     the test thread
+ *   - One background thread takes whatever is queued (up to 500 events), appends it
+ *     and flushes — so events reach the OS in batches, a few milliseconds after they happen
+ *   - A killed JVM loses at most the batch being written; a half-written last line is
+ *     skipped when the file is compacted
+ *
+ * Thread Safety:
+ *   The queue is the only shared state; the file is written by the sink thread alone.
+ */
+final class FailureEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailureEventSink.class);
+
+    // Events written per flush at most
+    private static final int BATCH_SIZE = 500;
+
+    // Queued after the last event — tells the sink thread to finish up (JSON lines are never empty)
+    private static final String END = "";
+
+    // ── Singleton — one sink per run ──
+    private static final FailureEventSink sink = new FailureEventSink();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private volatile File file;
+    private volatile Thread writer;  // null until the first event (and again after close)
+
+    private FailureEventSink() {}
+
+    static FailureEventSink getInstance() {
+        return sink;
+    }
+
+    /**
+     * Queues one failure event. Starts the sink thread (and creates the file) on first use.
+     *
+     * @param event — Event fields, written as one JSON line
+     */
+    void append(Map<String, Object> event) {
+        if (writer == null) start();
+        try {
+            queue.add(mapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            logger.debug("Could not serialise locator failure event: {}", e.getMessage());
+        }
+    }
+
+    // Creates the JSONL file and the sink thread, once
+    private synchronized void start() {
+        if (writer != null) return;
+
+        File outputDir = new File("test-output");
+        if (!outputDir.exists()) outputDir.mkdirs();
+        String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("ddMMyyyy_HHmmss"));
+        file = new File(outputDir, "failedLocators_" + date + ".jsonl");
+
+        writer = new Thread(this::drainToFile, "locator-failure-sink");
+        writer.setDaemon(true);
+        writer.start();
+        logger.debug("Streaming locator failures to {}", file);
+    }
+
+    // Sink thread — append + flush in batches until the END marker arrives
+    private void drainToFile() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file, true))) {
+            while (true) {
+                batch.add(queue.take());  // Block until there is something to write
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                boolean finished = false;
+                for (String line : batch) {
+                    if (END.equals(line)) {
+                        finished = true;
+                    } else {
+                        out.write(line);
+                        out.newLine();
+                    }
+                }
+                out.flush();
+                batch.clear();
+                if (finished) return;
+            }
+        } catch (IOException e) {
+            logger.error("Locator failure stream stopped — could not write {}: {}", file, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes everything still queued, stops the sink thread and returns the JSONL file.
+     * Called from FailedLocatorCollector.generateJsonReport() at suite end.
+     *
+     * @return — The JSONL file, or null if no failure was ever streamed
+     */
+    synchronized File close() {
+        if (writer == null) return null;
+        queue.add(END);
+        try {
+            writer.join(30_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        return file;
+    }
+}
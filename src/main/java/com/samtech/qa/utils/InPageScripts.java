@@ -0,0 +1,110 @@
+package com.samtech.qa.utils;
+
+/**
+ * InPageScripts — JavaScript that ElementUtils runs inside the page in one round trip.
+ *
+ * Every Playwright call from Java is a message to the driver and on to the browser.
+ * For work that touches many elements at once (e.g. filling a 30-field form), doing it
+ * in a single page.evaluate() is much cheaper than one call — and one wait — per element.
+ *
+ * Selector support inside the page:
+ *   - XPath   → starts with "/", "(" or "xpath="
+ *   - CSS     → everything else (an optional "css=" prefix is stripped)
+ *   Playwright-only selectors (text=, role=, :has-text() …) can't be resolved in the page;
+ *   those come back as "unsupported" and ElementUtils handles them the normal way.
+ *
+ * Kept package-private — these scripts are an implementation detail of ElementUtils.
+ */
+final class InPageScripts {
+
+    private InPageScripts() {}
+
+    // ── Shared helper: resolve(selector) → element, null (no match) or undefined (unsupported) ──
+    private static final String RESOLVE = """
+            const resolve = selector => {
+              try {
+                if (/^(\\/|\\(|xpath=)/.test(selector)) {
+                  return document.evaluate(selector.replace(/^xpath=/, ''), document, null,
+                      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                }
+                return document.querySelector(selector.replace(/^css=/, ''));
+              } catch (e) {
+                return undefined;
+              }
+            };
+            """;
+
+    /**
+     * Fills many text fields in one pass.
+     *
+     * Argument: [{ selectors: [...], value: "..." }, ...] — selectors in the order to try.
+     * Returns per field: { winner: index of the selector that was filled, or -1 }.
+     *   -1 → no selector matched a visible, editable text input/textarea, or a selector
+     *        was unsupported — ElementUtils fills that field with enterText() instead.
+     *
+     * Filling uses the native value setter plus input/change events, so frameworks
+     * that track input state (React, Vue, Angular) see the new value.
+     */
+    static final String FILL_FORM = "fields => {\n" + RESOLVE + """
+              const NOT_TEXT = ['checkbox', 'radio', 'file', 'submit', 'button', 'image', 'reset', 'hidden', 'range', 'color'];
+              const fillable = el => el
+                  && (el instanceof HTMLTextAreaElement || (el instanceof HTMLInputElement && !NOT_TEXT.includes(el.type)))
+                  && !el.disabled && !el.readOnly
+                  && el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden';
+              return fields.map(field => {
+                for (let i = 0; i < field.selectors.length; i++) {
+                  const el = resolve(field.selectors[i]);
+                  if (el === undefined) return { winner: -1 };  // Unsupported selector → Java fills this field
+                  if (!fillable(el)) continue;
+                  const proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;
+                  el.focus();
+                  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, field.value);
+                  el.dispatchEvent(new Event('input', { bubbles: true }));
+                  el.dispatchEvent(new Event('change', { bubbles: true }));
+                  return { winner: i };
+                }
+                return { winner: -1 };
+              });
+            }
+            """;
+
+    /**
+     * Reads many elements in one call — their text and whether they are visible.
+     *
+     * Arguments: [groups, timeoutMs] — groups is [[selector, fallback, ...], ...].
+     * Per group, the first selector matching a visible element wins. The check repeats
+     * inside the page (every 50ms) until every group has a winner or timeoutMs has passed,
+     * so elements still rendering are waited for without extra round trips.
+     *
+     * Returns per group: { winner: index or -1, text: trimmed textContent, unsupported: bool,
+     *                      waitedMs: time until the winner first showed up, or the whole wait on a miss }
+     *   unsupported → a Playwright-only selector came before any visible match;
+     *                 ElementUtils reads that group the normal way.
+     */
+    static final String READ_ELEMENTS = "([groups, timeoutMs]) => new Promise(done => {\n" + RESOLVE + """
+              const visible = el => el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden';
+              const start = performance.now();
+              const readyAt = groups.map(() => null);  // First time each group had a visible match
+              const check = () => {
+                const waited = Math.round(performance.now() - start);
+                const results = groups.map((selectors, g) => {
+                  for (let i = 0; i < selectors.length; i++) {
+                    const el = resolve(selectors[i]);
+                    if (el === undefined) return { winner: -1, text: null, unsupported: true, waitedMs: waited };
+                    if (el && visible(el)) {
+                      if (readyAt[g] === null) readyAt[g] = waited;
+                      return { winner: i, text: (el.textContent || '').trim(), unsupported: false, waitedMs: readyAt[g] };
+                    }
+                  }
+                  return { winner: -1, text: null, unsupported: false, waitedMs: waited };
+                });
+                if (results.every(r => r.winner >= 0 || r.unsupported) || performance.now() - start >= timeoutMs) {
+                  done(results);
+                } else {
+                  setTimeout(check, 50);
+                }
+              };
+              check();
+            })
+            """;
+}
@@ -0,0 +1,58 @@
+package com.samtech.qa.utils;
+
+import java.util.Arrays;
+
+/**
+ * LocatorGroup — One element's selectors: {Primary, Fallback1, Fallback2, ...}.
+ *
+ * The typed replacement for the raw String[] arrays page objects used to declare:
+ *
+ *   Before:  private String[] loginButton = {"button[type='submit']", "//button[contains(.,'Login')]"};
+ *   After:   private final LocatorGroup loginButton = LocatorGroup.of("button[type='submit']", "//button[contains(.,'Login')]");
+ *
+ *   elementUtils.clickElement(loginButton);
+ *
+ * The selectors are only compiled into Playwright Locators when an action first uses
+ * them, and then once per page — ElementUtils keeps the compiled Locator objects in a
+ * cache that belongs to its Page (a new Page gets a new ElementUtils, so a fresh cache).
+ *
+ * of() keeps its own copy of the selectors, but selectors() hands out that copy itself,
+ * not a new one — ElementUtils recognises a page-object field by the array's identity
+ * (see ElementUtils.ownerOf). Callers must not change the returned array; as long as
+ * nobody does, a group can be shared between threads and declared as a static constant.
+ */
+public final class LocatorGroup {
+
+    private final String[] selectors;
+
+    private LocatorGroup(String[] selectors) {
+        this.selectors = selectors;
+    }
+
+    /**
+     * Creates a group from selectors in priority order.
+     *
+     * @param selectors — Primary selector first, then the fallbacks
+     * @return          — The group
+     */
+    public static LocatorGroup of(String... selectors) {
+        if (selectors == null || selectors.length == 0) {
+            throw new RuntimeException("A LocatorGroup needs at least one selector.");
+        }
+        return new LocatorGroup(selectors.clone());
+    }
+
+    /**
+     * Returns the selectors in priority order, for the batch APIs (fillForm, getElementTexts …).
+     * The returned array is the group's own, not a copy — callers must not modify it
+     * (ElementUtils only reads it; ranking works on a reordered copy).
+     */
+    public String[] selectors() {
+        return selectors;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(selectors);
+    }
+}
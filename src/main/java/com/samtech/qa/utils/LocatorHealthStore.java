@@ -0,0 +1,284 @@
+package com.samtech.qa.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * LocatorHealthStore — Remembers locator failures across runs and builds.
+ *
+ * failedLocators_*.json describes ONE run. To see which selectors keep breaking, or which
+ * cost the most CI time, you'd have to read a pile of those files. Instead, at the end of
+ * every run the failures are appended to one file-backed, append-only store:
+ *
+ *   locator-health/history.jsonl  (locator.health.store.file)
+ *   {"type":"run","run":"20250101_142103_4711","build":"57","ts":"2025-01-01T14:21:03Z","failed_locators":2}
+ *   {"type":"failure","run":"20250101_142103_4711","build":"57","locator":"#submit-btn","action":"clickElement",
+ *    "failures":7,"scenarios":2,"wasted_ms":21000}
+ *
+ * One "run" line is written for every run — also for clean runs — so "failed in 3 of the
+ * last 10 runs" counts the clean ones too. Lines are never rewritten; the file is locked
+ * while appending, so parallel jobs on one machine can share it (CI: cache the folder).
+ *
+ * Queries (also available from the command line, see LocatorHealthReport):
+ *   failingInRuns(3, 10)  → selectors that failed in ≥3 of the last 10 runs
+ *   wastedPerRun(10)      → time each selector wasted per run, over the last 10 runs
+ *   newSince("57")        → selectors failing after build 57 that never failed up to it
+ *
+ * Build id: -Dbuild.id, else GITHUB_RUN_NUMBER / BUILD_NUMBER, else the run timestamp.
+ *
+ * Config (config file or CLI):
+ *   locator.health.store.enabled=true              → append each run (default: false)
+ *   locator.health.store.file=locator-health/history.jsonl
+ */
+public class LocatorHealthStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocatorHealthStore.class);
+
+    private final Path file;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Opens the store at the given file (it is created on the first append).
+     *
+     * @param file — The history.jsonl file
+     */
+    public LocatorHealthStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the store configured via "locator.health.store.file".
+     */
+    public static LocatorHealthStore fromConfig() {
+        return new LocatorHealthStore(Paths.get(ConfigLoader.getInstance().getOptionalProp("locator.health.store.file")));
+    }
+
+    /**
+     * Returns true if runs are appended to the store via "locator.health.store.enabled".
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("locator.health.store.enabled"));
+    }
+
+    // ============================================================
+    // WRITE
+    // ============================================================
+
+    /**
+     * Appends this run — one "run" line plus one "failure" line per failing locator/action.
+     * Called by FailedLocatorCollector at suite end, with the same rows as the JSON report.
+     *
+     * @param failures — Report rows (locator, action, impacted_scenarios, failure_count, wasted_ms)
+     */
+    void appendRun(List<Map<String, Object>> failures) {
+        // Timestamp + pid — unique even when parallel jobs finish in the same second
+        String run = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))
+                + "_" + ProcessHandle.current().pid();
+        String build = buildId(run);
+
+        StringBuilder lines = new StringBuilder();
+        try {
+            Map<String, Object> runLine = new LinkedHashMap<>();
+            runLine.put("type", "run");
+            runLine.put("run", run);
+            runLine.put("build", build);
+            runLine.put("ts", Instant.now().toString());
+            runLine.put("failed_locators", failures.size());
+            lines.append(mapper.writeValueAsString(runLine)).append('\n');
+
+            for (Map<String, Object> row : failures) {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("type", "failure");
+                line.put("run", run);
+                line.put("build", build);
+                line.put("locator", row.get("locator"));
+                line.put("action", row.get("action"));
+                line.put("failures", row.get("failure_count"));
+                line.put("scenarios", ((Collection<?>) row.get("impacted_scenarios")).size());
+                line.put("wasted_ms", row.getOrDefault("wasted_ms", 0L));
+                lines.append(mapper.writeValueAsString(line)).append('\n');
+            }
+
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            // ── Append under an exclusive lock — parallel jobs never interleave their lines ──
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 FileLock lock = channel.lock()) {
+                channel.write(ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+            }
+            logger.debug("--- Locator health: run {} (build {}) appended to {} ---", run, build, file);
+        } catch (IOException e) {
+            logger.error("Could not append to the locator health store {}: {}", file, e.getMessage());
+        }
+    }
+
+    // -Dbuild.id, then the CI's build number, then the run id itself
+    private static String buildId(String run) {
+        String build = System.getProperty("build.id");
+        if (build == null) build = System.getenv("GITHUB_RUN_NUMBER");
+        if (build == null) build = System.getenv("BUILD_NUMBER");
+        return build != null ? build : run;
+    }
+
+    // ============================================================
+    // QUERIES
+    // ============================================================
+
+    /**
+     * Selectors that failed in at least minRuns of the last lastRuns runs.
+     *
+     * @param minRuns  — Minimum number of runs the selector failed in
+     * @param lastRuns — How many of the most recent runs to look at
+     * @return         — Rows (locator, action, failed_runs, failures, wasted_ms), most failed runs first
+     */
+    public List<Map<String, Object>> failingInRuns(int minRuns, int lastRuns) {
+        Set<String> runIds = lastRunIds(lastRuns);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        aggregate(runIds).forEach((key, stats) -> {
+            if (stats.runs.size() >= minRuns) rows.add(stats.toRow(runIds.size()));
+        });
+        rows.sort(Comparator.comparingInt((Map<String, Object> row) -> (Integer) row.get("failed_runs")).reversed());
+        return rows;
+    }
+
+    /**
+     * Time each selector wasted, per run, over the last lastRuns runs.
+     *
+     * @param lastRuns — How many of the most recent runs to look at
+     * @return         — Rows (locator, action, failed_runs, wasted_ms, wasted_ms_per_run), biggest waste first
+     */
+    public List<Map<String, Object>> wastedPerRun(int lastRuns) {
+        Set<String> runIds = lastRunIds(lastRuns);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        aggregate(runIds).forEach((key, stats) -> rows.add(stats.toRow(runIds.size())));
+        rows.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("wasted_ms")).reversed());
+        return rows;
+    }
+
+    /**
+     * Selectors failing in runs after the given build that never failed in it or before it.
+     *
+     * @param build — Build id to compare against (as written in the "build" field)
+     * @return      — Rows (locator, action, failed_runs, failures, wasted_ms, first_build)
+     */
+    public List<Map<String, Object>> newSince(String build) {
+        List<JsonNode> lines = read();
+        // Runs in file order; everything up to the last run of the given build is "before"
+        List<String> runOrder = new ArrayList<>();
+        int cutoff = -1;
+        for (JsonNode line : lines) {
+            if ("run".equals(line.path("type").asText())) {
+                runOrder.add(line.path("run").asText());
+                if (build.equals(line.path("build").asText())) cutoff = runOrder.size() - 1;
+            }
+        }
+        if (cutoff < 0) {
+            logger.warn("Build {} not found in the locator health store.", build);
+            return new ArrayList<>();
+        }
+
+        Set<String> before = new HashSet<>(runOrder.subList(0, cutoff + 1));
+        Set<String> after = new HashSet<>(runOrder.subList(cutoff + 1, runOrder.size()));
+        Set<String> failedBefore = new HashSet<>();
+        for (JsonNode line : lines) {
+            if ("failure".equals(line.path("type").asText()) && before.contains(line.path("run").asText())) {
+                failedBefore.add(key(line));
+            }
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        aggregate(after).forEach((key, stats) -> {
+            if (!failedBefore.contains(key)) {
+                Map<String, Object> row = stats.toRow(after.size());
+                row.put("first_build", stats.firstBuild);
+                rows.add(row);
+            }
+        });
+        return rows;
+    }
+
+    // ── Per locator/action totals over a set of runs ──
+    private static class Stats {
+        String locator;
+        String action;
+        String firstBuild;
+        final Set<String> runs = new LinkedHashSet<>();
+        long failures;
+        long wastedMs;
+
+        // runCount = runs looked at (including the ones this selector didn't fail in)
+        Map<String, Object> toRow(int runCount) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("locator", locator);
+            row.put("action", action);
+            row.put("failed_runs", runs.size());
+            row.put("failures", failures);
+            row.put("wasted_ms", wastedMs);
+            row.put("wasted_ms_per_run", runCount == 0 ? 0 : wastedMs / runCount);  // Clean runs count as 0
+            return row;
+        }
+    }
+
+    private Map<String, Stats> aggregate(Set<String> runIds) {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (JsonNode line : read()) {
+            if (!"failure".equals(line.path("type").asText()) || !runIds.contains(line.path("run").asText())) continue;
+            Stats entry = stats.computeIfAbsent(key(line), k -> new Stats());
+            entry.locator = line.path("locator").asText();
+            entry.action = line.path("action").asText();
+            if (entry.firstBuild == null) entry.firstBuild = line.path("build").asText();
+            entry.runs.add(line.path("run").asText());
+            entry.failures += line.path("failures").asLong();
+            entry.wastedMs += line.path("wasted_ms").asLong();
+        }
+        return stats;
+    }
+
+    // Ids of the most recent runs, in file order
+    private Set<String> lastRunIds(int lastRuns) {
+        List<String> runs = new ArrayList<>();
+        for (JsonNode line : read()) {
+            if ("run".equals(line.path("type").asText())) runs.add(line.path("run").asText());
+        }
+        return new LinkedHashSet<>(runs.subList(Math.max(0, runs.size() - lastRuns), runs.size()));
+    }
+
+    private static String key(JsonNode line) {
+        return line.path("action").asText() + "\u0000" + line.path("locator").asText();
+    }
+
+    // All readable lines of the store — a torn last line (killed job) is skipped
+    private List<JsonNode> read() {
+        List<JsonNode> lines = new ArrayList<>();
+        if (!Files.exists(file)) return lines;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                try {
+                    lines.add(mapper.readTree(line));
+                } catch (IOException e) {
+                    logger.debug("Skipping unreadable locator health line: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not read the locator health store {}: {}", file, e.getMessage());
+        }
+        return lines;
+    }
+}
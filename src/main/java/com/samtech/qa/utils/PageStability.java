@@ -0,0 +1,217 @@
+package com.samtech.qa.utils;
+
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PageStability — Detects when a page has actually stopped changing.
+ *
+ * waitForPageStable() used to wait for NETWORKIDLE and then sleep 200ms. Apps with
+ * polling, analytics beacons or websockets never reach network idle, so every call
+ * burned the full timeout.page.load before moving on. Instead, the page itself is asked:
+ *
+ *   1. TRACKER (added as an init script, so it runs before the app's own scripts)
+ *      → wraps fetch() and XMLHttpRequest to keep a list of requests in flight
+ *   2. SETTLE (evaluated when waitForPageStable() is called)
+ *      → a MutationObserver records the last DOM change; the page counts as stable once
+ *        there is no request in flight and neither the DOM nor the network has changed
+ *        for page.stable.quiet.ms
+ *   Requests older than page.stable.request.ignore.ms (long-polls, streaming) don't hold
+ *   the page up, and page.stable.max.ms caps the whole wait.
+ *
+ * Every measured settle time is recorded per page (origin + path). At suite end the
+ * numbers (count, avg, p95, max, times the cap was hit) are written to:
+ *   test-output/pageSettleTimes_{ddMMyyyy_HHmmss}.json — slowest pages first
+ *
+ * Config (config file or CLI):
+ *   page.stable.quiet.ms=300              → how long DOM + network must be quiet
+ *   page.stable.max.ms=10000              → give up waiting after this long
+ *   page.stable.request.ignore.ms=5000    → requests pending longer than this are ignored
+ *
+ * Thread Safety:
+ *   Samples are kept in one synchronized list per page — parallel workers record
+ *   their settle times without interfering with each other.
+ */
+public class PageStability {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageStability.class);
+
+    // ── In-page request tracker — idempotent, safe to install more than once ──
+    static final String TRACKER = """
+            (() => {
+              if (window.__qaNet) return;
+              const net = window.__qaNet = { pending: new Map(), seq: 0, last: performance.now() };
+              const begin = () => { const id = ++net.seq; net.pending.set(id, performance.now()); net.last = performance.now(); return id; };
+              const end = id => { net.pending.delete(id); net.last = performance.now(); };
+              if (window.fetch) {
+                const fetch = window.fetch;
+                window.fetch = function (...args) {
+                  const id = begin();
+                  return fetch.apply(this, args).finally(() => end(id));
+                };
+              }
+              const send = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function (...args) {
+                const id = begin();
+                this.addEventListener('loadend', () => end(id), { once: true });
+                return send.apply(this, args);
+              };
+            })()
+            """;
+
+    // ── Resolves once DOM + network have been quiet for quietMs (or after maxMs) ──
+    private static final String SETTLE = """
+            ([quietMs, maxMs, ignoreMs]) => new Promise(resolve => {
+              const net = window.__qaNet;
+              const start = performance.now();
+              let lastMutation = start;
+              const observer = new MutationObserver(() => { lastMutation = performance.now(); });
+              observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+              const check = () => {
+                const now = performance.now();
+                let busy = 0;
+                net.pending.forEach(started => { if (now - started < ignoreMs) busy++; });
+                const lastActivity = busy > 0 ? now : Math.max(start, lastMutation, net.last);
+                const timedOut = now - start >= maxMs;
+                if ((busy === 0 && now - lastActivity >= quietMs) || timedOut) {
+                  observer.disconnect();
+                  resolve({ settleMs: Math.round(timedOut ? now - start : lastActivity - start), timedOut });
+                } else {
+                  setTimeout(check, 50);
+                }
+              };
+              check();
+            })
+            """;
+
+    // ── Settle times (ms) per page, plus how often the cap was hit ──
+    private static final Map<String, List<Long>> samples = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> timeouts = new ConcurrentHashMap<>();
+
+    // ── Pages that already have the tracker init script — weak, so closed pages can be collected ──
+    private static final Set<Page> instrumented = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+
+    /**
+     * Installs the request tracker on a page, for every document it loads from now on.
+     * Called from every ElementUtils constructor, but the init script is added only once
+     * per Page — init scripts can't be removed, so a page re-used across scenarios (or
+     * preloaded by EntryPage) would otherwise run one more tracker on every load.
+     * Failures only mean less accurate stability checks.
+     *
+     * @param page — The page to track
+     */
+    static void install(Page page) {
+        if (!instrumented.add(page)) return;
+        try {
+            page.addInitScript(TRACKER);
+        } catch (Exception e) {
+            logger.debug("Could not install the page stability tracker: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until the page's DOM and network have been quiet for page.stable.quiet.ms,
+     * records the settle time for the current page and returns it.
+     *
+     * If the page navigates while waiting (the evaluation is cut off), the new document
+     * is waited for and checked again — at most three times.
+     *
+     * @param page — The page to wait on
+     * @return     — Time (ms) until the page went quiet, or the cap if it never did
+     */
+    static long awaitQuiet(Page page) {
+        ConfigSnapshot config = ConfigLoader.getInstance().getSnapshot();
+        List<Long> args = List.of(config.pageStableQuietMs, config.pageStableMaxMs, config.pageStableRequestIgnoreMs);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Document loaded before the tracker was installed → install it now
+                page.evaluate(TRACKER);
+                @SuppressWarnings("unchecked")
+                Map<String, Object> result = (Map<String, Object>) page.evaluate(SETTLE, args);
+                long settleMs = ((Number) result.get("settleMs")).longValue();
+                record(page.url(), settleMs, Boolean.TRUE.equals(result.get("timedOut")));
+                return settleMs;
+            } catch (RuntimeException e) {
+                // "Execution context was destroyed" → the page navigated mid-wait
+                if (attempt == 3) {
+                    logger.debug("Page stability check abandoned: {}", e.getMessage());
+                    return -1;
+                }
+                page.waitForLoadState(LoadState.DOMCONTENTLOADED, new Page.WaitForLoadStateOptions()
+                        .setTimeout(config.pageLoadMs));
+            }
+        }
+    }
+
+    // Records one settle time under origin + path (query and fragment dropped)
+    private static void record(String url, long settleMs, boolean timedOut) {
+        String pageKey = url;
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() != null && uri.getHost() != null) {
+                pageKey = uri.getScheme() + "://" + uri.getAuthority() + (uri.getPath() == null ? "" : uri.getPath());
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a plain URL (e.g. about:blank variants) — keep it as is
+        }
+        samples.computeIfAbsent(pageKey, k -> Collections.synchronizedList(new ArrayList<>())).add(settleMs);
+        if (timedOut) timeouts.merge(pageKey, 1, Integer::sum);
+        logger.debug("Page settled in {} ms{}: {}", settleMs, timedOut ? " (cap reached)" : "", pageKey);
+    }
+
+    /**
+     * Writes the per-page settle times, slowest page (by p95) first.
+     * Called once from the runner's @AfterSuite. Does nothing if no page was measured.
+     */
+    public static void generateReport() {
+        if (samples.isEmpty()) return;
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            List<Long> times;
+            synchronized (entry.getValue()) {
+                times = new ArrayList<>(entry.getValue());
+            }
+            Collections.sort(times);
+            int p95Index = (int) Math.ceil(0.95 * times.size()) - 1;
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("page", entry.getKey());
+            row.put("checks", times.size());
+            row.put("avg_ms", Math.round(times.stream().mapToLong(Long::longValue).average().orElse(0)));
+            row.put("p95_ms", times.get(Math.max(0, p95Index)));
+            row.put("max_ms", times.get(times.size() - 1));
+            row.put("cap_reached", timeouts.getOrDefault(entry.getKey(), 0));
+            report.add(row);
+        }
+        report.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("p95_ms")).reversed());
+
+        DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
+        printer.indentArraysWith(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE);
+        try {
+            File outputDir = new File("test-output");
+            if (!outputDir.exists()) outputDir.mkdirs();
+
+            String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("ddMMyyyy_HHmmss"));
+            String fileName = "pageSettleTimes_" + date + ".json";
+            new ObjectMapper().writer(printer).writeValue(new File(outputDir, fileName), report);
+            logger.debug("--- Page Settle Times Generated: test-output/" + fileName + " ---");
+        } catch (IOException e) {
+            logger.error("Jackson failed to write the Page Settle Times: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.samtech.qa.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SelectorRanking — Learns which fallback selector actually works and tries it first.
+ *
+ * Page objects list their selectors as {Primary, Fallback1, Fallback2}. When the primary
+ * is broken but a fallback works, every call pays the primary's timeout before reaching
+ * the fallback — scenario after scenario, run after run. This class counts which selector
+ * of each locator array wins, and ElementUtils tries the selectors in winning order.
+ *
+ * How it works:
+ *   1. ElementUtils works out which page-object field a selector array belongs to
+ *      (e.g. "LoginPage.usernameField") — that is the ranking key
+ *   2. rank(key, selectors)      → returns the selectors ordered by wins (most first);
+ *                                  ties keep the page object's original order
+ *   3. recordWin(key, selector)  → counts a successful action for that selector
+ *   4. save()                    → at suite end, writes the counts to
+ *                                  test-output/selectorRanking.json, which is loaded
+ *                                  again at the start of the next run
+ *
+ * Config (config file or CLI):
+ *   selector.ranking.enabled=true → turn ranking on (default: false)
+ *
+ * Thread Safety:
+ *   Counts live in ConcurrentHashMaps of LongAdders — parallel workers record wins
+ *   without locking, and a slightly stale order is harmless (just one extra attempt).
+ */
+public class SelectorRanking {
+
+    private static final Logger logger = LoggerFactory.getLogger(SelectorRanking.class);
+
+    // File the learned ranking is kept in between runs
+    private static final File RANKING_FILE = new File("test-output/selectorRanking.json");
+
+    // ── Wins per selector, per locator key ("PageClass.field") ──
+    private static final Map<String, Map<String, LongAdder>> wins = new ConcurrentHashMap<>();
+
+    static {
+        load();
+    }
+
+    /**
+     * Returns true if ranking is switched on via "selector.ranking.enabled".
+     */
+    public static boolean isEnabled() {
+        return ConfigLoader.getInstance().getSnapshot().selectorRanking;
+    }
+
+    /**
+     * Returns the selectors in the order they should be tried — most wins first.
+     * The original array is never modified (page objects share it between threads).
+     *
+     * @param key       — Locator key, e.g. "LoginPage.usernameField"
+     * @param selectors — Selectors in the page object's priority order
+     * @return          — A re-ordered copy, or the same array if nothing has been learned yet
+     */
+    static String[] rank(String key, String[] selectors) {
+        Map<String, LongAdder> counts = wins.get(key);
+        if (counts == null || selectors.length < 2) return selectors;
+
+        Integer[] order = new Integer[selectors.length];
+        long[] score = new long[selectors.length];
+        for (int i = 0; i < selectors.length; i++) {
+            order[i] = i;
+            LongAdder count = counts.get(selectors[i]);
+            score[i] = count == null ? 0 : count.sum();
+        }
+        // Stable sort — equal scores keep the page object's order
+        Arrays.sort(order, (a, b) -> Long.compare(score[b], score[a]));
+
+        String[] ranked = new String[selectors.length];
+        for (int i = 0; i < order.length; i++) ranked[i] = selectors[order[i]];
+        return ranked;
+    }
+
+    /**
+     * Counts one successful action for a selector.
+     *
+     * @param key      — Locator key, e.g. "LoginPage.usernameField"
+     * @param selector — The selector the action succeeded with
+     */
+    static void recordWin(String key, String selector) {
+        wins.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(selector, s -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Writes the learned ranking to test-output/selectorRanking.json.
+     * Called once from the runner's @AfterSuite. Does nothing if ranking is off.
+     */
+    public static void save() {
+        if (!isEnabled() || wins.isEmpty()) return;
+
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        for (Map.Entry<String, Map<String, LongAdder>> entry : wins.entrySet()) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            entry.getValue().forEach((selector, count) -> counts.put(selector, count.sum()));
+            snapshot.put(entry.getKey(), counts);
+        }
+
+        try {
+            RANKING_FILE.getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(RANKING_FILE, snapshot);
+            logger.debug("--- Selector ranking saved: {} ({} locators) ---", RANKING_FILE, snapshot.size());
+        } catch (IOException e) {
+            logger.error("Jackson failed to write the selector ranking: {}", e.getMessage());
+        }
+    }
+
+    // Seeds the counts from the previous run's file, if there is one
+    private static void load() {
+        if (!RANKING_FILE.exists()) return;
+        try {
+            Map<String, Map<String, Long>> saved = new ObjectMapper()
+                    .readValue(RANKING_FILE, new TypeReference<Map<String, Map<String, Long>>>() {});
+            saved.forEach((key, counts) -> counts.forEach((selector, count) -> {
+                LongAdder adder = wins.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(selector, s -> new LongAdder());
+                adder.add(count);
+            }));
+            logger.debug("Selector ranking loaded for {} locators.", saved.size());
+        } catch (IOException e) {
+            logger.warn("Could not read selector ranking, starting fresh: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.samtech.qa.utils;
+
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.options.LoadState;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * WaitPolicy — Decides what ElementUtils waits for around an action.
+ *
+ * Clicks used to be followed by waitForPageLoad() every time, and reads (getElementText,
+ * isElementVisible) waited for it before every attempt — even when nothing navigated.
+ * A policy makes that choice per action instead:
+ *
+ *   NONE                    → no extra wait (Playwright still auto-waits for the element)
+ *   DOMCONTENTLOADED        → always wait for DOMContentLoaded (the old behaviour)
+ *   NAVIGATION_IF_TRIGGERED → wait for the new page only if the action started a
+ *                             main-frame navigation — the default for clicks
+ *   NETWORK_QUIET           → wait for network idle (best effort — gives up after timeout.page.load)
+ *   until(predicate)        → wait until a custom condition on the page is true
+ *
+ * Page objects pick a policy per action through the ElementUtils overloads:
+ *   elementUtils.clickElement(WaitPolicy.NETWORK_QUIET, saveButton);
+ *   elementUtils.clickElement(WaitPolicy.until(p -> p.url().contains("dashboard")), loginButton);
+ * Without one, the configured default is used:
+ *   wait.policy.click=navigation_if_triggered → after clicks
+ *   wait.policy.read=none                     → before getElementText / isElementVisible
+ *
+ * A policy wraps the action: apply(page, action) runs it and waits as needed.
+ * Reads call apply(page, () -> {}) — i.e. "settle the page now" — before reading.
+ */
+@FunctionalInterface
+public interface WaitPolicy {
+
+    /**
+     * Runs the action, then waits according to the policy.
+     *
+     * @param page   — The page the action runs on
+     * @param action — The action itself (e.g. locator::click); may be a no-op
+     */
+    void apply(Page page, Runnable action);
+
+    // ── No extra wait ──
+    WaitPolicy NONE = (page, action) -> action.run();
+
+    // ── Always wait for DOMContentLoaded ──
+    WaitPolicy DOMCONTENTLOADED = (page, action) -> {
+        action.run();
+        page.waitForLoadState(LoadState.DOMCONTENTLOADED, new Page.WaitForLoadStateOptions()
+                .setTimeout(pageLoadTimeout()));
+    };
+
+    // ── Wait for the new page only if the action started a main-frame navigation ──
+    WaitPolicy NAVIGATION_IF_TRIGGERED = (page, action) -> {
+        AtomicBoolean requested = new AtomicBoolean();  // Navigation request sent
+        AtomicBoolean settled = new AtomicBoolean();    // New document committed, or request failed
+        Consumer<Request> onRequest = request -> {
+            if (request.isNavigationRequest() && request.frame() == page.mainFrame()) requested.set(true);
+        };
+        Consumer<Request> onFailed = request -> {
+            if (request.isNavigationRequest() && request.frame() == page.mainFrame()) settled.set(true);
+        };
+        Consumer<Frame> onNavigated = frame -> {
+            if (frame == page.mainFrame()) settled.set(true);
+        };
+
+        page.onRequest(onRequest);
+        page.onRequestFailed(onFailed);
+        page.onFrameNavigated(onNavigated);
+        try {
+            action.run();
+            if (!requested.get() && !settled.get()) return;  // Nothing navigated — no wait at all
+
+            // Request sent but the new document isn't there yet → wait for the commit first,
+            // otherwise the old document's (already fired) DOMContentLoaded would satisfy the wait
+            if (!settled.get()) {
+                page.waitForCondition(settled::get, new Page.WaitForConditionOptions().setTimeout(pageLoadTimeout()));
+            }
+            page.waitForLoadState(LoadState.DOMCONTENTLOADED, new Page.WaitForLoadStateOptions()
+                    .setTimeout(pageLoadTimeout()));
+        } finally {
+            page.offRequest(onRequest);
+            page.offRequestFailed(onFailed);
+            page.offFrameNavigated(onNavigated);
+        }
+    };
+
+    // ── Wait for network idle — best effort, pages with polling/websockets never get there ──
+    WaitPolicy NETWORK_QUIET = (page, action) -> {
+        action.run();
+        try {
+            page.waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions()
+                    .setTimeout(pageLoadTimeout()));
+        } catch (Exception e) {
+            // Network idle not reached — acceptable for apps with polling/websockets, continue
+        }
+    };
+
+    /**
+     * Custom policy — runs the action, then waits until the condition is true.
+     * Times out after timeout.global.wait.
+     *
+     * @param condition — Checked against the page until it returns true
+     * @return          — A policy for that condition
+     */
+    static WaitPolicy until(Predicate<Page> condition) {
+        return (page, action) -> {
+            action.run();
+            page.waitForCondition(() -> condition.test(page), new Page.WaitForConditionOptions()
+                    .setTimeout(ConfigLoader.getInstance().getSnapshot().globalWaitMs));
+        };
+    }
+
+    /**
+     * Returns the policy named by a config key — e.g. "wait.policy.click=navigation_if_triggered".
+     * Accepts none, domcontentloaded, navigation_if_triggered and network_quiet (any case).
+     *
+     * @param key — Config key holding the policy name
+     * @return    — The matching policy
+     */
+    static WaitPolicy fromConfig(String key) {
+        return named(key, ConfigLoader.getInstance().getOptionalProp(key));
+    }
+
+    /**
+     * Returns the policy with the given name — used by fromConfig() and ConfigSnapshot.
+     *
+     * @param key   — Config key the name came from (for the error message)
+     * @param value — Policy name, any case
+     * @return      — The matching policy
+     * @throws RuntimeException if the name isn't one of the four policies
+     */
+    static WaitPolicy named(String key, String value) {
+        String name = value.trim().toLowerCase(Locale.ROOT);
+        switch (name) {
+            case "none":                    return NONE;
+            case "domcontentloaded":        return DOMCONTENTLOADED;
+            case "navigation_if_triggered": return NAVIGATION_IF_TRIGGERED;
+            case "network_quiet":           return NETWORK_QUIET;
+            default:
+                throw new RuntimeException("Unknown wait policy \"" + name + "\" for " + key
+                        + " — use none, domcontentloaded, navigation_if_triggered or network_quiet.");
+        }
+    }
+
+    // timeout.page.load (parsed once, see ConfigSnapshot)
+    private static double pageLoadTimeout() {
+        return ConfigLoader.getInstance().getSnapshot().pageLoadMs;
+    }
+}
@@ -17,6 +17,7 @@ import com.samtech.qa.utils.ElementUtils;
  *   - Page          → the active browser tab (created lazily on first access)
  *   - ElementUtils  → helper methods for clicking, typing, reading elements
  *   - scenarioName  → the name of the currently running Cucumber scenario
+ *   - authKey       → user/role whose cached login this scenario may re-use (@authenticated)
  *
  * LAZY INITIALIZATION:
  *   The browser (Page) is NOT opened in the constructor.
@@ -35,6 +36,8 @@ public class TestContext {
     private Page page;                    // The active browser tab (null until first use)
     private ElementUtils elementUtils;    // UI interaction helpers (null until page is ready)
     private String scenarioName;          // Name of the current Cucumber scenario
+    private String authKey;               // User/role whose login may be cached (null = no auth caching)
+    private boolean sessionRestored;      // true = context was created from a cached login snapshot
 
     /**
      * Constructor — sets up the DriverFactory but does NOT open the browser yet.
@@ -109,4 +112,32 @@ public class TestContext {
     public String getScenarioName() {
         return this.scenarioName;
     }
+
+    /**
+     * Marks this scenario as one that only needs a logged-in session.
+     * Set from hooks for scenarios tagged @authenticated, before the browser opens.
+     *
+     * @param authKey         — The user/role the login snapshot is cached under
+     * @param sessionRestored — true if the context will be created from a cached snapshot
+     */
+    public void setAuthSession(String authKey, boolean sessionRestored) {
+        this.authKey = authKey;
+        this.sessionRestored = sessionRestored;
+    }
+
+    /**
+     * Returns the user/role whose login is cached for this scenario, or null if
+     * the scenario doesn't use the auth cache.
+     */
+    public String getAuthKey() {
+        return authKey;
+    }
+
+    /**
+     * Returns true if the browser context was created from a cached login snapshot —
+     * login steps can then skip the UI login.
+     */
+    public boolean isSessionRestored() {
+        return sessionRestored;
+    }
 }
\ No newline at end of file
@@ -7,9 +7,14 @@ import com.microsoft.playwright.Video;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import com.samtech.qa.contexts.TestContext;
+import com.samtech.qa.factory.AuthStateCache;
+import com.samtech.qa.factory.BrowserLanes;
 import com.samtech.qa.factory.DriverFactory;
 import com.samtech.qa.testutilities.TestProofsCollection;
+import com.samtech.qa.utils.ActionLatencyRecorder;
 import com.samtech.qa.utils.ConfigLoader;
+import com.samtech.qa.utils.ConfigSnapshot;
+import com.samtech.qa.utils.ExcelUtility.DataManager;
 import com.samtech.qa.utils.FailedLocatorCollector;
 import io.cucumber.java.*;
 import io.qameta.allure.Allure;
@@ -24,6 +29,8 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -44,13 +51,14 @@ import java.util.UUID;
  *
  * EXECUTION ORDER:
  *   @Before hooks run in ASCENDING order number (0 first, then 1)
- *   @After hooks run in DESCENDING order number (3 first, then 2, 1, 0)
+ *   @After hooks run in DESCENDING order number (4 first, then 3, 2, 1, 0)
  *
  *   Full sequence per scenario:
  *   ┌─────────────────────────────────────────────────┐
  *   │  @Before(0) setupScenario   → set names          │
  *   │  @Before(1) startTrace      → begin recording    │
  *   │  ... scenario steps run ...                      │
+ *   │  @After(4)  attachScenarioTimings → latency+cost │
  *   │  @After(3)  captureScenarioScreenshot            │
  *   │  @After(2)  captureTrace    → save/discard trace │
  *   │  @After(1)  captureVideo    → attach/delete video│
@@ -101,7 +109,7 @@ public class ApplicationHooks {
 
             // Wait for full page load before capturing
             page.waitForLoadState(LoadState.LOAD, new Page.WaitForLoadStateOptions()
-                    .setTimeout(Long.parseLong(ConfigLoader.getInstance().getOptionalProp("timeout.page.load"))));
+                    .setTimeout(ConfigLoader.getInstance().getSnapshot().pageLoadMs));
 
             // Scroll to bottom then back to top — ensures lazy content is rendered
             page.evaluate("() => window.scrollTo(0, document.body.scrollHeight)");
@@ -137,12 +145,71 @@ public class ApplicationHooks {
      * Registers the scenario name in two places:
      *   - TestContext → makes it available to step definitions if needed
      *   - FailedLocatorCollector → so any locator failures are tagged with this scenario name
+     *
+     * In matrix mode the scenario is tagged with its browser engine (see BrowserLanes).
+     * For @authenticated scenarios it also wires up the cached login (see AuthStateCache).
+     * Scenarios tagged @isolated always get a brand-new context (see ContextReuse).
      */
     @Before(order = 0)
     public void setupScenario(Scenario scenario) {
         testContext.setScenarioName(scenario.getName());
         FailedLocatorCollector.setScenarioName(scenario.getName());
+        ActionLatencyRecorder.startScenario();  // Per-scenario latency table starts empty
         logger.info("SCENARIO STARTED: {}", scenario.getName());
+
+        // Matrix mode — tag the result with the engine of the lane this scenario runs in
+        String engine = BrowserLanes.currentEngine();
+        if (engine != null) {
+            tagBrowserLane(scenario, engine);
+        }
+
+        if (scenario.getSourceTagNames().contains("@isolated")) {
+            testContext.getDriverFactory().requireIsolatedContext();
+        }
+
+        if (scenario.getSourceTagNames().contains("@authenticated") && AuthStateCache.isEnabled()) {
+            restoreCachedLogin(scenario);
+        }
+    }
+
+    /**
+     * Tags a matrix-mode scenario with its browser engine.
+     *
+     *   - Allure: "Browser" parameter + engine tag, and the engine is added to the
+     *     historyId — otherwise Allure would treat the chromium and firefox runs of
+     *     the same scenario as retries of one test
+     *   - FailedLocatorCollector: scenario name gets an " [engine]" suffix so broken
+     *     selectors can be traced to the engine they failed on
+     */
+    private void tagBrowserLane(Scenario scenario, String engine) {
+        Allure.parameter("Browser", engine);
+        Allure.label("tag", engine);
+        Allure.getLifecycle().updateTestCase(result -> {
+            if (result.getHistoryId() != null) result.setHistoryId(result.getHistoryId() + "-" + engine);
+        });
+        FailedLocatorCollector.setScenarioName(scenario.getName() + " [" + engine + "]");
+    }
+
+    /**
+     * For scenarios tagged @authenticated — looks up a cached login snapshot for the
+     * scenario's user (from the "Login" sheet) and, if one is still valid, asks
+     * DriverFactory to create the context from it. Runs before the browser opens.
+     *
+     * If the scenario has no row in the Login sheet, the cache is simply not used.
+     */
+    private void restoreCachedLogin(Scenario scenario) {
+        String authKey;
+        try {
+            authKey = DataManager.getTestData("Login", scenario.getName()).get("Username");
+        } catch (RuntimeException e) {
+            logger.debug("No Login data for \"{}\" — auth cache not used.", scenario.getName());
+            return;
+        }
+
+        Optional<Path> snapshot = AuthStateCache.getInstance().lookup(authKey);
+        snapshot.ifPresent(path -> testContext.getDriverFactory().useStorageState(path));
+        testContext.setAuthSession(authKey, snapshot.isPresent());
+        logger.debug("Auth cache for \"{}\": {}", authKey, snapshot.isPresent() ? "snapshot restored" : "UI login needed");
     }
 
     /**
@@ -170,11 +237,39 @@ public class ApplicationHooks {
     }
 
     // ============================================================
-    // AFTER HOOKS (run in descending order: 3 → 2 → 1 → 0)
+    // AFTER HOOKS (run in descending order: 4 → 3 → 2 → 1 → 0)
     // ============================================================
 
     /**
-     * @After(order = 3) — First after-hook to run. Conditionally takes a screenshot.
+     * @After(order = 4) — First after-hook to run. Reports where this scenario's time went.
+     *
+     * Fallback cost (always) — if any selector attempt failed and waited before the next
+     * fallback was tried, the wasted time is added as Allure parameters:
+     *   "Fallback wasted (ms)"             → scenario total
+     *   "Fallback wasted (ms) — LoginPage" → share of one page object class
+     *
+     * Action timings (only when action.latency.enabled=true) — a JSON table of every
+     * ElementUtils action the scenario ran (count, total and max ms per action + winning
+     * selector), slowest first. The suite-wide p50/p95/p99 table is written at suite end
+     * (ActionLatencyRecorder).
+     */
+    @After(order = 4)
+    public void attachScenarioTimings(Scenario scenario) {
+        Map<String, Long> wasted = FailedLocatorCollector.getScenarioWastedMs();
+        if (!wasted.isEmpty()) {
+            // excluded = true → the values vary per run, so keep them out of the history id
+            Allure.parameter("Fallback wasted (ms)", wasted.values().stream().mapToLong(Long::longValue).sum(), true);
+            wasted.forEach((pageObject, ms) -> Allure.parameter("Fallback wasted (ms) — " + pageObject, ms, true));
+        }
+
+        String table = ActionLatencyRecorder.scenarioTableJson();
+        if (table != null) {
+            Allure.addAttachment("Action Latency", "application/json", table, ".json");
+        }
+    }
+
+    /**
+     * @After(order = 3) — Runs after attachScenarioTimings. Conditionally takes a screenshot.
      *
      * Whether a screenshot is taken depends on config flags:
      *   screenshot.on.scenario.failure  → captures on FAILED scenarios
@@ -191,13 +286,14 @@ public class ApplicationHooks {
     public void captureScenarioScreenshot(Scenario scenario) {
         Status status = scenario.getStatus();
         boolean shouldCapture = false;
+        ConfigSnapshot config = ConfigLoader.getInstance().getSnapshot();
 
         // Check each status flag independently — only capture if the matching flag is enabled
-        if (status == Status.FAILED && Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("screenshot.on.scenario.failure"))) {
+        if (status == Status.FAILED && config.screenshotOnScenarioFailure) {
             shouldCapture = true;
-        } else if (status == Status.PASSED && Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("screenshot.on.scenario.success"))) {
+        } else if (status == Status.PASSED && config.screenshotOnScenarioSuccess) {
             shouldCapture = true;
-        } else if (status == Status.SKIPPED && Boolean.parseBoolean(ConfigLoader.getInstance().getOptionalProp("screenshot.on.scenario.skipped"))) {
+        } else if (status == Status.SKIPPED && config.screenshotOnScenarioSkipped) {
             shouldCapture = true;
         }
 
@@ -238,10 +334,11 @@ public class ApplicationHooks {
             } catch (IOException e) {
                 logger.error("Failed to attach trace: " + e.getMessage());
             }
-        } else {
+        } else if (!testContext.getDriverFactory().isAsyncTeardown()) {
             // Passed — stop tracing but don't save the file (saves disk space)
             context.tracing().stop(new Tracing.StopOptions().setPath(null));
         }
+        // (Passed + async teardown: the trace is discarded when the pipeline closes the context)
     }
 
     /**
@@ -260,12 +357,29 @@ public class ApplicationHooks {
      *
      * On FAILURE → attaches the video to the Allure report (useful for replay)
      * On PASS    → deletes the video file to save disk space
+     *
+     * Skipped for scenarios running in a re-used context (context.reuse.enabled=true) —
+     * that context records no video and must stay open for the next scenario.
+     * Also skipped in server mode (browser.server.enabled=true) — contexts on a connected
+     * browser record no video, because its file lives on the server side (see DriverFactory).
+     * With teardown.async.enabled=true a PASSED scenario's video is left to the
+     * TeardownPipeline — it is deleted in the background once the context is closed.
      */
     @After(order = 1)
     public void captureVideo(Scenario scenario) {
+        if (testContext.getDriverFactory().isContextReused() || testContext.getPage().video() == null) {
+            return;
+        }
+
         // Get the video file path BEFORE closing the page (path becomes unavailable after close)
         Path videoPath = testContext.getPage().video().path();
 
+        // Passed + async teardown — the background close finalises and deletes the video
+        if (!scenario.isFailed() && testContext.getDriverFactory().isAsyncTeardown()) {
+            testContext.getDriverFactory().dropVideoAfterClose(videoPath);
+            return;
+        }
+
         // Close page and context — this triggers Playwright to write the video file to disk
         testContext.getPage().close();
         testContext.getDriverFactory().getTlBrowserContext().get().close();
@@ -1,10 +1,16 @@
 package com.samtech.qa.pages;
 
 import com.microsoft.playwright.Page;
+import com.samtech.qa.factory.EntryPage;
 import com.samtech.qa.testutilities.AllureEnvironmentManager;
 import com.samtech.qa.utils.ElementUtils;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.annotations.BeforeSuite;
 
+import java.util.OptionalLong;
+
 /**
  * BasePage — The parent class that all Page Object classes extend.
  *
@@ -33,6 +39,8 @@ import org.testng.annotations.BeforeSuite;
  */
 public class BasePage {
 
+    private static final Logger logger = LoggerFactory.getLogger(BasePage.class);
+
     // Available to all page classes that extend BasePage
     protected ElementUtils elementUtils;  // UI interaction helpers (click, type, getText, etc.)
     protected Page page;                  // Raw Playwright Page — for direct browser control
@@ -46,6 +54,7 @@ public class BasePage {
     public BasePage(ElementUtils elementUtils) {
         this.elementUtils = elementUtils;
         this.page = elementUtils.getPage();  // Extract Page so child classes can access it directly
+        elementUtils.registerPageObject(this);  // Lets SelectorRanking name locator arrays ("LoginPage.usernameField")
     }
 
     /**
@@ -55,9 +64,20 @@ public class BasePage {
      * Always waits for DOMContentLoaded after navigating — ensures the page
      * structure is ready before any element interactions are attempted.
      *
+     * If DriverFactory handed out a page that already loaded this URL (see EntryPage),
+     * the navigation is skipped and the saved time is reported to the log and Allure.
+     *
      * @param url — The full URL to navigate to (e.g. "https://app.example.com/login")
      */
     public void navigateTo(String url) {
+        // Page already preloaded with this URL (session.prenavigate.enabled) → skip the reload
+        OptionalLong savedMs = EntryPage.consume(page, url);
+        if (savedMs.isPresent()) {
+            logger.info("Entry page already loaded — navigation skipped, {} ms of Background time saved.", savedMs.getAsLong());
+            Allure.parameter("Background time saved (ms)", savedMs.getAsLong());
+            return;
+        }
+
         page.navigate(url);
         elementUtils.waitForPageLoad();  // Wait for DOM to finish loading before returning
     }
@@ -2,17 +2,18 @@ package com.samtech.qa.pages;
 
 import com.samtech.qa.utils.ElementUtils;
 import com.samtech.qa.utils.FailedLocatorCollector;
+import com.samtech.qa.utils.LocatorGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DashboardPage extends BasePage {
 
-    // Locators as Arrays for Self-Healing
-    private String[] dashboardHeader = {
+    // Locator group for Self-Healing: {Primary, Fallback1, Fallback2}
+    private final LocatorGroup dashboardHeader = LocatorGroup.of(
             "h6.oxd-text--h6",
             "//h6[text()='Dashboard']",
             ".oxd-topbar-header-breadcrumb-module"
-    };
+    );
 
     // Constructor receiving the 'Injected' utility
     public DashboardPage(ElementUtils elementUtils) {
@@ -2,19 +2,22 @@ package com.samtech.qa.pages;
 
 import com.samtech.qa.utils.ConfigLoader;
 import com.samtech.qa.utils.ElementUtils;
+import com.samtech.qa.utils.LocatorGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.channels.Selector;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class LoginPage extends BasePage{
 
     private static final Logger logger = LoggerFactory.getLogger(LoginPage.class);
 
-    // 1. Locators as Arrays: {Primary, Fallback1, Fallback2}
-    private String[] usernameField = {"input[name='usernam']", "//input[@placeholder='Username']", "input.oxd-input"};
-    private String[] passwordField = {"input[name='password']", "//input[@type='password']", "input.oxd-input--active"};
-    private String[] loginButton = {"button[type='submi']", "//button[contains(.,'Login')]", ".orangehrm-login-button"};
+    // 1. Locator groups for Self-Healing: {Primary, Fallback1, Fallback2}
+    private final LocatorGroup usernameField = LocatorGroup.of("input[name='usernam']", "//input[@placeholder='Username']", "input.oxd-input");
+    private final LocatorGroup passwordField = LocatorGroup.of("input[name='password']", "//input[@type='password']", "input.oxd-input--active");
+    private final LocatorGroup loginButton = LocatorGroup.of("button[type='submi']", "//button[contains(.,'Login')]", ".orangehrm-login-button");
     private String errorMessage = "//div[@class='orangehrm-login-error']//p";
 
     public LoginPage(ElementUtils elementUtils) {
@@ -28,9 +31,11 @@ public class LoginPage extends BasePage{
         elementUtils.waitForPageStable();
     }
     public void enterCredentials(String user, String pass) {
-        // We pass the whole array to our ElementUtils
-        elementUtils.enterText(user, usernameField);
-        elementUtils.enterText(pass, passwordField);
+        // We pass the whole arrays to our ElementUtils — both fields are filled in one round trip
+        Map<String[], String> form = new LinkedHashMap<>();
+        form.put(usernameField.selectors(), user);
+        form.put(passwordField.selectors(), pass);
+        elementUtils.fillForm(form);
     }
 
     public void clickLogin() {
@@ -38,6 +43,11 @@ public class LoginPage extends BasePage{
         elementUtils.waitForPageStable();
     }
 
+    // True while the browser is on the login form (e.g. a restored session has expired)
+    public boolean isLoginFormDisplayed() {
+        return page.url().contains("/auth/login");
+    }
+
     public String getErrorMessage() {
         return page.locator(errorMessage).first().textContent().trim();
     }
@@ -0,0 +1,119 @@
+package com.samtech.qa.runners;
+
+import com.samtech.qa.factory.BrowserLanes;
+import com.samtech.qa.factory.WorkerAutoSizer;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * BrowserMatrix — Fans scenarios out across browser engines for the runners.
+ *
+ * Used by SmokeTestsRunner, RegressionTestsRunner and FailedTestRunner when
+ * "browser.matrix" is set (see BrowserLanes). Three small jobs:
+ *
+ *   applyThreadCount() → sizes TestNG's data-provider pool so every lane can be kept busy
+ *   fanOut() → turns every scenario row from Cucumber's data provider into one row
+ *              per engine, each tagged with the engine it should run on
+ *   run()    → runs a tagged row inside its engine's lane (own workers + concurrency
+ *              limit), or runs an untagged row directly when the matrix is off
+ *
+ * Rows are interleaved by engine (scenario A on chromium, A on firefox, B on chromium, ...)
+ * so every lane gets work from the start of the run.
+ */
+public class BrowserMatrix {
+
+    /**
+     * Returns the data-provider thread count for this run — the configured (or auto-sized)
+     * dataproviderthreadcount, raised to the sum of all lane limits in matrix mode.
+     * Fewer threads than that and a lane never reaches its browser.concurrency.<engine>.
+     */
+    public static int threadCount() {
+        int threads = WorkerAutoSizer.threadCount();
+        if (BrowserLanes.isMatrixEnabled()) {
+            threads = Math.max(threads, BrowserLanes.totalConcurrency());
+        }
+        return threads;
+    }
+
+    /**
+     * Applies threadCount() to the running TestNG suite.
+     * Must be called from @BeforeSuite — TestNG reads the pool size from the XmlSuite
+     * when the data provider starts, so a System property set later has no effect.
+     *
+     * @param context — The suite's test context
+     * @return        — The thread count that was applied
+     */
+    public static int applyThreadCount(ITestContext context) {
+        int threads = threadCount();
+        context.getSuite().getXmlSuite().setDataProviderThreadCount(threads);
+        return threads;
+    }
+
+    /**
+     * Expands Cucumber's scenario rows to one row per configured engine.
+     * Returns the rows unchanged if no matrix is configured.
+     *
+     * @param scenarios — Rows from AbstractTestNGCucumberTests.scenarios() → {PickleWrapper, FeatureWrapper}
+     * @return          — One row per scenario per engine
+     */
+    public static Object[][] fanOut(Object[][] scenarios) {
+        List<String> engines = BrowserLanes.engines();
+        if (engines.isEmpty()) return scenarios;
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] row : scenarios) {
+            for (String engine : engines) {
+                rows.add(new Object[]{new LanePickleWrapper((PickleWrapper) row[0], engine), row[1]});
+            }
+        }
+        return rows.toArray(new Object[0][]);
+    }
+
+    /**
+     * Runs one data-provider row — inside its engine lane if it was fanned out.
+     *
+     * @param pickleWrapper  — The scenario (possibly tagged with an engine)
+     * @param featureWrapper — The feature the scenario belongs to
+     * @param runner         — The runner's default scenario execution (super.runScenario)
+     */
+    public static void run(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper,
+                           BiConsumer<PickleWrapper, FeatureWrapper> runner) {
+        if (pickleWrapper instanceof LanePickleWrapper) {
+            LanePickleWrapper lane = (LanePickleWrapper) pickleWrapper;
+            BrowserLanes.runInLane(lane.engine, () -> runner.accept(lane.delegate, featureWrapper));
+        } else {
+            runner.accept(pickleWrapper, featureWrapper);
+        }
+    }
+
+    /**
+     * A scenario tagged with the engine it should run on.
+     * toString() is what TestNG shows as the test name — the engine is appended so
+     * the same scenario on different engines can be told apart in TestNG output.
+     */
+    private static class LanePickleWrapper implements PickleWrapper {
+        private final PickleWrapper delegate;
+        private final String engine;
+
+        LanePickleWrapper(PickleWrapper delegate, String engine) {
+            this.delegate = delegate;
+            this.engine = engine;
+        }
+
+        @Override
+        public Pickle getPickle() {
+            return delegate.getPickle();
+        }
+
+        @Override
+        public String toString() {
+            return delegate + " [" + engine + "]";
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.samtech.qa.runners;
 
+import com.samtech.qa.utils.ConfigLoader;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.ITestContext;
 import org.testng.SkipException;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
 
 import java.io.File;
 
@@ -53,6 +59,20 @@ public class FailedTestRunner extends AbstractTestNGCucumberTests {
         System.setProperty("isRerun", "true");
     }
 
+    /**
+     * Runs ONCE before any test in the suite starts.
+     *
+     * Applies the parallel thread count to the TestNG suite, the same way the main
+     * runners do (see BrowserMatrix.applyThreadCount) — so a rerun started on its own
+     * still runs in parallel and, in matrix mode, keeps every engine lane busy.
+     * Browser servers, bootstrap and reports stay with the main runner's suite hooks.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void setupSuite(ITestContext context) {
+        ConfigLoader.getInstance();               // Trigger eager config load
+        BrowserMatrix.applyThreadCount(context);  // Size TestNG's data-provider pool (auto / matrix aware)
+    }
+
     /**
      * Runs once before any scenarios in this class are executed.
      * If there are no failed scenarios to rerun, skips the entire class gracefully.
@@ -87,6 +107,18 @@ public class FailedTestRunner extends AbstractTestNGCucumberTests {
         if (!rerunFile.exists() || rerunFile.length() == 0) {
             return new Object[0][0];  // Empty = nothing to run, no crash
         }
-        return super.scenarios();  // File has content — hand off to default Cucumber behaviour
+        // File has content — hand off to default Cucumber behaviour (fanned out per engine in matrix mode)
+        return BrowserMatrix.fanOut(super.scenarios());
+    }
+
+    /**
+     * Runs one scenario — overridden so that, in matrix mode ("browser.matrix"),
+     * each fanned-out row runs inside its browser engine's lane (see BrowserMatrix).
+     * Outside matrix mode this is exactly Cucumber's default behaviour.
+     */
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        BrowserMatrix.run(pickleWrapper, featureWrapper, (pickle, feature) -> super.runScenario(pickle, feature));
     }
 }
\ No newline at end of file
@@ -1,15 +1,25 @@
 package com.samtech.qa.runners;
 
+import com.samtech.qa.factory.BrowserLanes;
+import com.samtech.qa.factory.DriverFactory;
 import com.samtech.qa.testutilities.AllureEnvironmentManager;
 import com.samtech.qa.utils.ConfigLoader;
+import com.samtech.qa.utils.ActionLatencyRecorder;
+import com.samtech.qa.utils.AdaptiveTimeouts;
 import com.samtech.qa.utils.FailedLocatorCollector;
+import com.samtech.qa.utils.PageStability;
+import com.samtech.qa.utils.SelectorRanking;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
 
 /**
  * RegressionTestsRunner — The entry point for running the full regression test suite.
@@ -24,9 +34,11 @@ import org.testng.annotations.DataProvider;
  * called by Maven during the CI regression workflow.
  *
  * KEY RESPONSIBILITIES:
- *   @BeforeSuite → initialises config and writes Allure environment info (once, before all tests)
- *   scenarios()  → sets parallel thread count and logs active run settings
- *   @AfterSuite  → generates the failed locators JSON report (once, after all tests)
+ *   @BeforeSuite → initialises config, starts browser servers / warm-up and writes Allure environment info (once, before all tests)
+ *   scenarios()  → sets parallel thread count, logs active run settings and
+ *                  fans scenarios out per engine when "browser.matrix" is set
+ *   runScenario()→ runs each fanned-out scenario inside its engine's lane
+ *   @AfterSuite  → generates the failed locators JSON report and shuts down pooled/pre-warmed browsers (once, after all tests)
  *
  * OUTPUT FILES GENERATED:
  *   target/allure-results/          → raw data for Allure HTML report
@@ -57,7 +69,9 @@ public class RegressionTestsRunner extends AbstractTestNGCucumberTests {
      *
      * parallel = true → TestNG runs multiple scenarios simultaneously.
      * The number of threads is controlled by "dataproviderthreadcount" in config
-     * (defaults to 2 if not set — see ConfigLoader defaults).
+     * (defaults to 2 if not set — see ConfigLoader defaults; "auto" sizes it from
+     * the host's cores and memory — see WorkerAutoSizer). It is applied to the
+     * TestNG suite in setupSuite(), before this data provider runs.
      *
      * The diagnostic prints help confirm in CI logs that the correct environment,
      * browser, and tags were picked up from the Maven command or workflow inputs.
@@ -65,36 +79,56 @@ public class RegressionTestsRunner extends AbstractTestNGCucumberTests {
     @Override
     @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        // Read thread count from config (or use built-in default of "2")
-        String threads = ConfigLoader.getInstance().getOptionalProp("dataproviderthreadcount");
-        // Set as system property so TestNG picks it up for parallel execution
+        // Thread count applied to the suite in setupSuite() — recorded here for the log below
+        String threads = String.valueOf(BrowserMatrix.threadCount());
         System.setProperty("dataproviderthreadcount", threads);
 
         // ── Diagnostic output — confirm active run settings in CI logs ──
         System.out.println("ENV FROM SYSTEM: " + System.getProperty("env"));
         System.out.println("BROWSER FROM SYSTEM: " + System.getProperty("browser"));
         System.out.println("TAGS FROM SYSTEM: " + System.getProperty("cucumber.filter.tags"));
+        if (BrowserLanes.isMatrixEnabled()) logger.info("Browser matrix: {}", BrowserLanes.engines());
 
         logger.info("Framework initialized with Threads: {}",
                 System.getProperty("dataproviderthreadcount"));
 
-        // Hand off to Cucumber's default logic to load and return all matching scenarios
-        return super.scenarios();
+        // Hand off to Cucumber's default logic to load all matching scenarios,
+        // then fan them out per engine when a browser matrix is configured
+        return BrowserMatrix.fanOut(super.scenarios());
+    }
+
+    /**
+     * Runs one scenario — overridden so that, in matrix mode ("browser.matrix"),
+     * each fanned-out row runs inside its browser engine's lane (see BrowserMatrix).
+     * Outside matrix mode this is exactly Cucumber's default behaviour.
+     */
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        BrowserMatrix.run(pickleWrapper, featureWrapper, (pickle, feature) -> super.runScenario(pickle, feature));
     }
 
     /**
      * Runs ONCE before any test in the suite starts.
      *
-     * Two responsibilities:
+     * Three responsibilities:
      *   1. Ensure ConfigLoader is initialised — forces config files to be loaded
      *      upfront so any missing config errors surface immediately, not mid-run
-     *   2. Write Allure environment info — records browser, env, and other settings
+     *   2. Start the shared browser servers (browser.server.enabled=true) and run the
+     *      one-time Playwright bootstrap + warm-up (playwright.bootstrap.enabled=true)
+     *   3. Write Allure environment info — records browser, env, and other settings
      *      into the Allure report so you can see the exact conditions of the run
+     *
+     * The thread count is applied to the TestNG suite here, before any data provider runs:
+     * the configured number, or the one measured for this host with dataproviderthreadcount=auto
+     * (see WorkerAutoSizer) — raised to the sum of all lane limits in matrix mode (see BrowserMatrix).
      */
     @BeforeSuite(alwaysRun = true)
-    public void setupSuite() {
+    public void setupSuite(ITestContext context) {
         ConfigLoader.getInstance();                    // Trigger eager config load
-        AllureEnvironmentManager.writeEnvironmentInfo(); // Write env details to Allure report
+        DriverFactory.startSuite();                      // Browser servers + Playwright bootstrap (when enabled)
+        BrowserMatrix.applyThreadCount(context);         // Size TestNG's data-provider pool (auto / matrix aware)
+        AllureEnvironmentManager.writeEnvironmentInfo(); // Write env details to Allure report (incl. bootstrap time)
     }
 
     /**
@@ -112,5 +146,10 @@ public class RegressionTestsRunner extends AbstractTestNGCucumberTests {
     public void tearDownSuite() {
         logger.debug("--- All tests finished. Generating Failed Locator Report ---");
         FailedLocatorCollector.generateJsonReport();
+        SelectorRanking.save();          // Keep the learned selector order for the next run
+        AdaptiveTimeouts.save();         // Keep the learned wait budgets for the next run
+        PageStability.generateReport();  // Settle time per page, slowest first
+        DriverFactory.shutdownSuite();   // Close pooled/pre-warmed browsers + log session metrics
+        ActionLatencyRecorder.generateReport();  // p50/p95/p99 per action — after pre-warm threads have stopped
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.samtech.qa.testutilities;
 
+import com.samtech.qa.factory.BrowserLanes;
+import com.samtech.qa.factory.PlaywrightBootstrap;
+import com.samtech.qa.factory.WorkerAutoSizer;
 import com.samtech.qa.utils.ConfigLoader;
 
 import java.io.File;
@@ -28,6 +31,9 @@ import java.io.IOException;
  *   Browser=chromium
  *   URL=https://qa.example.com
  *   Headless=true
+ *   Threads=6                      (only when dataproviderthreadcount=auto)
+ *   Threads.Reasoning=auto: 8 cores, 12034 MB free ... → 6 threads
+ *   Playwright.Bootstrap.ms=2140   (only when playwright.bootstrap.enabled=true)
  */
 public class AllureEnvironmentManager {
 
@@ -58,9 +64,22 @@ public class AllureEnvironmentManager {
 
             // Each line = one key-value pair displayed in the Allure environment panel
             writer.write("Environment=" + config.getEnvironment()              + "\n");  // e.g. qa, staging
-            writer.write("Browser="     + config.getMandatoryProp("browser")   + "\n");  // e.g. chromium, firefox
+            // Matrix mode runs several engines in one run — list them all
+            String browsers = BrowserLanes.isMatrixEnabled()
+                    ? String.join(",", BrowserLanes.engines())
+                    : config.getMandatoryProp("browser");
+            writer.write("Browser="     + browsers                             + "\n");  // e.g. chromium, firefox
             writer.write("URL="         + config.getMandatoryProp("url")       + "\n");  // Base URL under test
             writer.write("Headless="    + config.getOptionalProp("headless")   + "\n");  // true = no visible browser
+            // Only present when the thread count was auto-sized (dataproviderthreadcount=auto)
+            if (WorkerAutoSizer.getReasoning() != null) {
+                writer.write("Threads="           + WorkerAutoSizer.threadCount()  + "\n");
+                writer.write("Threads.Reasoning=" + WorkerAutoSizer.getReasoning() + "\n");
+            }
+            // Only present when the suite-start bootstrap ran (playwright.bootstrap.enabled=true)
+            if (PlaywrightBootstrap.getBootstrapMs() >= 0) {
+                writer.write("Playwright.Bootstrap.ms=" + PlaywrightBootstrap.getBootstrapMs() + "\n");
+            }
 
         } catch (IOException e) {
             throw new RuntimeException("Failed to write Allure environment file", e);
@@ -0,0 +1,52 @@
+package com.samtech.qa.testutilities;
+
+import com.samtech.qa.utils.FailedLocatorCollector;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * FailedLocatorCompactor — Turns a streamed locator-failure file into the usual report.
+ *
+ * With locator.failures.stream.enabled=true, failures are appended to
+ * test-output/failedLocators_{timestamp}.jsonl while the run is going, and compacted into
+ * failedLocators_{timestamp}.json at suite end. If the job was killed before the suite
+ * ended, the .jsonl file is still there — this program writes the report from it.
+ *
+ * This class is run as a standalone Java program, e.g. from a CI "always" step:
+ *   mvn exec:java -Dexec.mainClass="com.samtech.qa.testutilities.FailedLocatorCompactor" -Dexec.classpathScope=test
+ *   → compacts the newest test-output/failedLocators_*.jsonl
+ *   Pass a file path as the first argument (-Dexec.args="...") to compact a specific stream.
+ *
+ * Safe in an "always" step: a compacted stream is renamed to *.jsonl.compacted (by the run
+ * itself at suite end, or by this program), so the same run is never reported twice.
+ */
+public class FailedLocatorCompactor {
+
+    public static void main(String[] args) {
+        File stream = args.length > 0 ? new File(args[0]) : newestStream();
+        if (stream == null || !stream.exists()) {
+            System.out.println("No locator failure stream (test-output/failedLocators_*.jsonl) found.");
+            return;
+        }
+        if (stream.getName().endsWith(".compacted")) {
+            System.out.println(stream + " was already compacted — nothing to do.");
+            return;
+        }
+
+        int events = FailedLocatorCollector.compact(stream);
+        if (events < 0) {
+            System.out.println("Could not read " + stream + " — left as it is, nothing written.");
+            return;
+        }
+        System.out.println("Compacted " + events + " locator failure events from " + stream + " into test-output/.");
+    }
+
+    // Most recently modified failedLocators_*.jsonl in test-output, or null
+    private static File newestStream() {
+        File[] streams = new File("test-output").listFiles((dir, name) -> name.startsWith("failedLocators_") && name.endsWith(".jsonl"));
+        if (streams == null || streams.length == 0) return null;
+        return Arrays.stream(streams).max(Comparator.comparingLong(File::lastModified)).orElse(null);
+    }
+}
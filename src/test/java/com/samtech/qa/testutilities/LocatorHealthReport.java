@@ -0,0 +1,61 @@
+package com.samtech.qa.testutilities;
+
+import com.samtech.qa.utils.LocatorHealthStore;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LocatorHealthReport — Command-line queries on the cross-run locator health store.
+ *
+ * Answers the questions a single failedLocators_*.json can't:
+ *   failing 3 10     → selectors that failed in at least 3 of the last 10 runs
+ *   wasted 10        → time each selector wasted per run, over the last 10 runs
+ *   new-since 57     → selectors failing after build 57 that never failed up to it
+ *
+ * This class is run as a standalone Java program, like AllureDefectAge:
+ *   mvn exec:java -Dexec.mainClass="com.samtech.qa.testutilities.LocatorHealthReport" \
+ *                 -Dexec.classpathScope=test -Dexec.args="failing 3 10"
+ *
+ * Reads the store at -Dlocator.health.store.file (default: locator-health/history.jsonl)
+ * and prints one tab-separated line per selector.
+ */
+public class LocatorHealthReport {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: failing <minRuns> <lastRuns> | wasted <lastRuns> | new-since <build>");
+            return;
+        }
+
+        LocatorHealthStore store = new LocatorHealthStore(
+                Paths.get(System.getProperty("locator.health.store.file", "locator-health/history.jsonl")));
+
+        List<Map<String, Object>> rows;
+        switch (args[0]) {
+            case "failing":
+                rows = store.failingInRuns(Integer.parseInt(args[1]), args.length > 2 ? Integer.parseInt(args[2]) : 10);
+                break;
+            case "wasted":
+                rows = store.wastedPerRun(Integer.parseInt(args[1]));
+                break;
+            case "new-since":
+                rows = store.newSince(args[1]);
+                break;
+            default:
+                System.out.println("Unknown query: " + args[0]);
+                return;
+        }
+
+        if (rows.isEmpty()) {
+            System.out.println("No matching selectors.");
+            return;
+        }
+        // ── Header from the first row's fields, then one line per selector ──
+        System.out.println(String.join("\t", rows.get(0).keySet()));
+        for (Map<String, Object> row : rows) {
+            System.out.println(String.join("\t", row.values().stream().map(String::valueOf).toList()));
+        }
+    }
+}
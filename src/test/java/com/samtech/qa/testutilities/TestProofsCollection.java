@@ -89,18 +89,14 @@ public class TestProofsCollection {
         try {
             if (status == stepStatus.FAILED) {
                 // Check if screenshots on step failure are enabled in config
-                boolean captureFailed = Boolean.parseBoolean(
-                        ConfigLoader.getInstance().getOptionalProp("screenshot.for.step.failed")
-                );
+                boolean captureFailed = ConfigLoader.getInstance().getSnapshot().screenshotForStepFailed;
                 if (captureFailed) {
                     attachScreenshot();
                     logger.debug("Screenshot attached to failed step");
                 }
             } else {
                 // Check if screenshots on step success are enabled in config
-                boolean capturePassed = Boolean.parseBoolean(
-                        ConfigLoader.getInstance().getOptionalProp("screenshot.for.step.passed")
-                );
+                boolean capturePassed = ConfigLoader.getInstance().getSnapshot().screenshotForStepPassed;
                 if (capturePassed) {
                     attachScreenshot();
                     logger.debug("Screenshot attached to passed step");